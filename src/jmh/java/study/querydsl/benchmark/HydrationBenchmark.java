@@ -0,0 +1,122 @@
+package study.querydsl.benchmark;
+
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.sql.SQLQueryFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import study.querydsl.dto.AgeAggregate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.MemberSqlRepository;
+import study.querydsl.sql.SMember;
+
+/**
+ * 결과 hydration 할당량 - Tuple / 엔티티 vs 재사용 row view (MemberSqlRepository.forEachRow, aggregate)
+ * ./gradlew jmh -PjmhIncludes=HydrationBenchmark
+ *
+ * 모든 회원을 id 순으로 한 번 훑는다. (QuerydslBasicTest.tupleProjection, aggregation 과 같은 조회)
+ * username String 은 모든 방식에서 만들어지므로 차이는 Tuple, Object[], 박싱, 엔티티 / 스냅샷 몫이다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HydrationBenchmark extends MemberBenchmarkSupport {
+
+    private static final SMember m = SMember.member;
+
+    private SQLQueryFactory sqlQueryFactory;
+    private MemberSqlRepository memberSqlRepository;
+    private final MemberSearchCondition all = new MemberSearchCondition();
+    private final AgeAggregate aggregate = new AgeAggregate(); // 호출마다 재사용
+
+    @Override
+    protected void prepare() {
+        sqlQueryFactory = context.getBean(SQLQueryFactory.class);
+        memberSqlRepository = context.getBean(MemberSqlRepository.class);
+    }
+
+    // ---- row 단위 ----
+
+    @Benchmark // JPQL -> Object[] -> Tuple, 숫자는 박싱
+    public void tupleJpa(Blackhole bh) {
+        inReadOnly(query -> {
+            List<Tuple> result = query
+                    .select(member.id, member.username, member.age, member.team.id)
+                    .from(member)
+                    .orderBy(member.id.asc())
+                    .fetch();
+            for (Tuple tuple : result) {
+                bh.consume(tuple.get(member.id));
+                bh.consume(tuple.get(member.username));
+                bh.consume(tuple.get(member.age));
+                bh.consume(tuple.get(member.team.id));
+            }
+            return null;
+        });
+    }
+
+    @Benchmark // 엔티티 + 영속성 컨텍스트 등록
+    public void entityJpa(Blackhole bh) {
+        inReadOnly(query -> {
+            List<Member> result = query
+                    .selectFrom(member)
+                    .orderBy(member.id.asc())
+                    .fetch();
+            for (Member each : result) {
+                bh.consume(each.getId());
+                bh.consume(each.getUsername());
+                bh.consume(each.getAge());
+            }
+            return null;
+        });
+    }
+
+    @Benchmark // 같은 조회를 querydsl-sql Tuple 로 (하이버네이트 몫을 뺀 Tuple 비용)
+    public void tupleSql(Blackhole bh) {
+        inReadOnlyTransaction(() -> {
+            List<Tuple> result = sqlQueryFactory
+                    .select(m.memberId, m.username, m.age, m.teamId)
+                    .from(m)
+                    .orderBy(m.memberId.asc())
+                    .fetch();
+            for (Tuple tuple : result) {
+                bh.consume(tuple.get(m.memberId));
+                bh.consume(tuple.get(m.username));
+                bh.consume(tuple.get(m.age));
+                bh.consume(tuple.get(m.teamId));
+            }
+            return null;
+        });
+    }
+
+    @Benchmark // 재사용 row view, primitive 컬럼
+    public long rowView(Blackhole bh) {
+        return inReadOnlyTransaction(() -> memberSqlRepository.forEachRow(all, row -> {
+            bh.consume(row.getId());
+            bh.consume(row.getUsername());
+            bh.consume(row.getAge());
+            bh.consume(row.getTeamId());
+        }));
+    }
+
+    // ---- 집계 (row 1건) ----
+
+    @Benchmark // count, sum, avg, max, min -> Tuple (Long, Integer, Double ...)
+    public Tuple aggregationTuple() {
+        return inReadOnly(query -> query
+                .select(member.count(), member.age.sum(), member.age.avg(), member.age.max(), member.age.min())
+                .from(member)
+                .fetchOne());
+    }
+
+    @Benchmark // 같은 holder 에 채운다. (평균은 합 / 수)
+    public AgeAggregate aggregationHolder() {
+        return inReadOnlyTransaction(() -> memberSqlRepository.aggregate(all, aggregate));
+    }
+}
@@ -0,0 +1,64 @@
+package study.querydsl.benchmark;
+
+import static study.querydsl.entity.QMember.member;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * 인덱스 유무에 따른 조건 검색 비교 (idx_member_username_id, idx_member_age)
+ * ./gradlew jmh -PjmhIncludes=IndexBenchmark
+ *
+ * team_id 인덱스는 FK 제약조건이 같이 쓰고 있어서 지울 수 없다 -> 비교 대상에서 제외
+ * 엔티티 생성 비용이 섞이지 않도록 id 만 조회한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IndexBenchmark extends MemberBenchmarkSupport {
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    @Override
+    protected void prepare() {
+        if (!indexed) {
+            jdbcTemplate.execute("drop index if exists idx_member_username_id");
+            jdbcTemplate.execute("drop index if exists idx_member_age");
+        }
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Benchmark // 단건 동등 조건
+    public List<Long> usernameEq() {
+        return inReadOnly(query -> query
+                .select(member.id)
+                .from(member)
+                .where(member.username.eq("member" + rows / 2))
+                .fetch());
+    }
+
+    @Benchmark // 선택도 1% 동등 조건
+    public List<Long> ageEq() {
+        return inReadOnly(query -> query
+                .select(member.id)
+                .from(member)
+                .where(member.age.eq(42))
+                .fetch());
+    }
+
+    @Benchmark // 범위 조건 + 정렬 + limit (인덱스가 있으면 정렬 없이 앞에서 20건만 읽는다)
+    public List<Long> ageRangeOrderByUsername() {
+        return inReadOnly(query -> query
+                .select(member.id)
+                .from(member)
+                .where(member.age.between(10, 20))
+                .orderBy(member.username.asc(), member.id.asc())
+                .limit(20)
+                .fetch());
+    }
+}
@@ -0,0 +1,111 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.QuerydslApplication;
+
+/**
+ * 벤치마크 공통 - 인메모리 H2로 애플리케이션을 띄우고 member/team 을 rows 건 만큼 채운다.
+ * row 당 할당량은 gc.alloc.rate.norm / rows 로 계산한다.
+ */
+@State(Scope.Benchmark)
+public abstract class MemberBenchmarkSupport {
+
+    protected static final int TEAM_COUNT = 100;
+    private static final int INSERT_BATCH = 1_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    protected ConfigurableApplicationContext context;
+    protected JPAQueryFactory queryFactory;
+    protected EntityManager em;
+    protected JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                // jmhJar 는 의존성을 jar 하나로 합치면서 AutoConfiguration.imports 가 하나만 남는다. (actuator 메트릭 자동 설정 누락)
+                // -> QueryMetrics 등이 쓸 MeterRegistry 를 직접 등록
+                .initializers(context -> context.getBeanFactory().registerSingleton("meterRegistry", new SimpleMeterRegistry()))
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "decorator.datasource.enabled=false", // p6spy 로그 제외
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.org.hibernate.type=warn")
+                .run();
+
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        em = context.getBean(EntityManager.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        seed();
+        prepare();
+    }
+
+    // 컨텍스트 기동 + 데이터 적재 후 벤치마크별 준비
+    // (하위 클래스에 @Setup 을 따로 두면 JMH 가 이름 순으로 실행해서 컨텍스트보다 먼저 돌 수 있다)
+    protected void prepare() {
+    }
+
+    @TearDown(Level.Trial)
+    public void closeContext() {
+        context.close();
+    }
+
+    // readOnly 트랜잭션 안에서 실행 (서비스 계층과 같은 조건)
+    protected <T> T inReadOnly(Function<JPAQueryFactory, T> query) {
+        return inReadOnlyTransaction(() -> query.apply(queryFactory));
+    }
+
+    protected <T> T inReadOnlyTransaction(Supplier<T> work) {
+        return readOnly.execute(status -> work.get());
+    }
+
+    // persist 대신 jdbc batch로 직접 넣는다. (id 를 직접 지정 -> 시퀀스와 무관)
+    private void seed() {
+        List<Object[]> teams = new ArrayList<>(TEAM_COUNT);
+        for (long i = 1; i <= TEAM_COUNT; i++) {
+            teams.add(new Object[]{i, "team" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", teams);
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (long i = 1; i <= rows; i++) {
+            batch.add(new Object[]{i, "member" + i, (int) (i % 100), i % TEAM_COUNT + 1});
+            if (batch.size() == INSERT_BATCH) {
+                insertMembers(batch);
+            }
+        }
+        insertMembers(batch);
+    }
+
+    private void insertMembers(List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", batch);
+            batch.clear();
+        }
+    }
+}
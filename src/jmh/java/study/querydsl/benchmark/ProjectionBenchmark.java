@@ -0,0 +1,79 @@
+package study.querydsl.benchmark;
+
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.dto.UserDto;
+
+/**
+ * DTO 조회 방식 비교 (QuerydslBasicTest 의 findDtoBy* 와 같은 쿼리)
+ * ./gradlew jmh -PjmhIncludes=ProjectionBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectionBenchmark extends MemberBenchmarkSupport {
+
+    @Benchmark // setter
+    public List<MemberDto> bean() {
+        return inReadOnly(query -> query
+                .select(Projections.bean(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark // field 직접 주입
+    public List<MemberDto> fields() {
+        return inReadOnly(query -> query
+                .select(Projections.fields(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark // 별칭이 다른 필드 (UserDto.name)
+    public List<UserDto> fieldsWithAlias() {
+        return inReadOnly(query -> query
+                .select(Projections.fields(UserDto.class, member.username.as("name"), member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark // 생성자
+    public List<MemberDto> constructor() {
+        return inReadOnly(query -> query
+                .select(Projections.constructor(MemberDto.class, member.username, member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark // @QueryProjection
+    public List<MemberDto> queryProjection() {
+        return inReadOnly(query -> query
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark // JPQL new 명령어
+    public List<MemberDto> jpqlNew() {
+        return inReadOnly(query -> em.createQuery(
+                        "select new study.querydsl.dto.MemberDto(m.username, m.age) from Member m", MemberDto.class)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<Tuple> tuple() {
+        return inReadOnly(query -> query
+                .select(member.username, member.age)
+                .from(member)
+                .fetch());
+    }
+}
@@ -0,0 +1,81 @@
+package study.querydsl.benchmark;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+/**
+ * 목록 조회 - 엔티티(fetch join) 후 DTO 변환 vs DTO 프로젝션 (MemberController 와 같은 쿼리)
+ * ./gradlew jmh -PjmhIncludes=ReadPathBenchmark
+ *
+ * 지연 시간은 AverageTime, 영속성 컨텍스트에 남는 엔티티 수는 managedEntities 보조 카운터로 본다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark extends MemberBenchmarkSupport {
+
+    private static final int PAGE_SIZE = 1_000;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PersistenceContext {
+        public long managedEntities;
+    }
+
+    @Benchmark // selectFrom(member) + fetch join -> 엔티티와 스냅샷이 영속성 컨텍스트에 쌓인다.
+    public List<MemberTeamDto> entities(PersistenceContext counter) {
+        return inReadOnly(query -> {
+            List<Member> members = query
+                    .selectFrom(member)
+                    .leftJoin(member.team, team).fetchJoin()
+                    .where(member.age.goe(50))
+                    .orderBy(member.id.asc())
+                    .limit(PAGE_SIZE)
+                    .fetch();
+
+            List<MemberTeamDto> result = new ArrayList<>(members.size());
+            for (Member m : members) {
+                Team t = m.getTeam();
+                result.add(new MemberTeamDto(m.getId(), m.getUsername(), m.getAge(),
+                        t == null ? null : t.getId(), t == null ? null : t.getName()));
+            }
+            counter.managedEntities += managedEntities();
+            return result;
+        });
+    }
+
+    @Benchmark // DTO 프로젝션 -> 영속성 컨텍스트 비어 있음
+    public List<MemberTeamDto> dtoProjection(PersistenceContext counter) {
+        return inReadOnly(query -> {
+            List<MemberTeamDto> result = query
+                    .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(member.age.goe(50))
+                    .orderBy(member.id.asc())
+                    .limit(PAGE_SIZE)
+                    .fetch();
+            counter.managedEntities += managedEntities();
+            return result;
+        });
+    }
+
+    private long managedEntities() {
+        return em.unwrap(SessionImplementor.class).getPersistenceContextInternal().getNumberOfManagedEntities();
+    }
+}
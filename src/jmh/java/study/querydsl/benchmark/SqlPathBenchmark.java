@@ -0,0 +1,94 @@
+package study.querydsl.benchmark;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.repository.MemberSqlRepository;
+
+/**
+ * 같은 조회를 JPAQueryFactory (JPQL -> 하이버네이트) vs SQLQueryFactory (JDBC, MemberSqlRepository) 로
+ * ./gradlew jmh -PjmhIncludes=SqlPathBenchmark
+ *
+ * 둘 다 MemberDto 프로젝션 -> 차이는 JPQL 변환, 하이버네이트 결과 처리, 영속성 컨텍스트 비용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlPathBenchmark extends MemberBenchmarkSupport {
+
+    private MemberSqlRepository memberSqlRepository;
+    private MemberSearchCondition teamCondition;
+    private MemberSearchCondition ageCondition;
+
+    @Override
+    protected void prepare() {
+        memberSqlRepository = context.getBean(MemberSqlRepository.class);
+
+        teamCondition = new MemberSearchCondition(); // team 조인, rows / 200 건
+        teamCondition.setTeamName("team7");
+        teamCondition.setAgeGoe(50);
+
+        ageCondition = new MemberSearchCondition(); // 조인 없음, rows / 10 건
+        ageCondition.setAgeGoe(90);
+    }
+
+    // ---- 1건 (username 인덱스) ----
+
+    @Benchmark
+    public List<MemberDto> usernameJpa() {
+        return inReadOnly(query -> query
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .where(member.username.eq("member500"))
+                .orderBy(member.id.asc())
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDto> usernameSql() {
+        return inReadOnlyTransaction(() -> memberSqlRepository.findByUsername("member500"));
+    }
+
+    // ---- 팀명 + 나이 (team 조인) ----
+
+    @Benchmark
+    public List<MemberDto> teamJpa() {
+        return inReadOnly(query -> query
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .join(member.team, team)
+                .where(team.name.eq("team7"), member.age.goe(50))
+                .orderBy(member.id.asc())
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDto> teamSql() {
+        return inReadOnlyTransaction(() -> memberSqlRepository.search(teamCondition));
+    }
+
+    // ---- 나이 (결과가 많은 경우 - row 당 처리 비용) ----
+
+    @Benchmark
+    public List<MemberDto> ageJpa() {
+        return inReadOnly(query -> query
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .where(member.age.goe(90))
+                .orderBy(member.id.asc())
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberDto> ageSql() {
+        return inReadOnlyTransaction(() -> memberSqlRepository.search(ageCondition));
+    }
+}
@@ -1,13 +1,47 @@
 package study.querydsl;
 
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.sql.Configuration;
+import com.querydsl.sql.H2Templates;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
+import jakarta.persistence.EntityManager;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import study.querydsl.monitoring.IndexAdvisor;
+import study.querydsl.monitoring.QueryMetrics;
+import study.querydsl.repository.support.BulkOperationListener;
+import study.querydsl.repository.support.InstrumentedJPAQueryFactory;
 
 @SpringBootApplication
+@EnableScheduling // ReplicaHealthChecker, MemberColumnarSnapshot.refresh() - 둘 다 조건부 빈이라 여기서 한 번만
 public class QuerydslApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(QuerydslApplication.class, args);
 	}
 
+	// 스프링이 주입하는 EntityManager는 프록시라 트랜잭션 단위로 바인딩된다. -> 싱글톤으로 써도 동시성 문제 없음
+	// 모든 쿼리의 실행 시간, row 수를 micrometer 로 기록 + 인덱스 없는 조건 컬럼 수집
+	// 벌크 update / delete 는 BulkOperationListener 로 알린다. (엔티티 리스너를 거치지 않으므로)
+	@Bean
+	JPAQueryFactory jpaQueryFactory(EntityManager em, QueryMetrics queryMetrics, IndexAdvisor indexAdvisor,
+									ObjectProvider<BulkOperationListener> bulkListeners) {
+		return new InstrumentedJPAQueryFactory(em, queryMetrics, indexAdvisor, bulkListeners);
+	}
+
+	// 하이버네이트를 거치지 않는 읽기 전용 조회 (MemberSqlRepository)
+	// 커넥션은 현재 트랜잭션의 것을 쓴다. -> readOnly 면 replica 로 라우팅, 예외는 스프링 DataAccessException
+	@Bean
+	SQLQueryFactory sqlQueryFactory(DataSource dataSource) {
+		Configuration configuration = new Configuration(H2Templates.builder().build());
+		configuration.setExceptionTranslator(new SpringExceptionTranslator());
+		return new SQLQueryFactory(configuration, new SpringConnectionProvider(dataSource));
+	}
+
 }
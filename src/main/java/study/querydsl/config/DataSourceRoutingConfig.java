@@ -0,0 +1,92 @@
+package study.querydsl.config;
+
+import com.github.gavlyukovskiy.boot.jdbc.decorator.DataSourceDecorator;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * 읽기/쓰기 분리 - querydsl.datasource.routing.enabled=true 일 때만
+ * primary 는 spring.datasource.* (풀 설정은 spring.datasource.hikari.*), replica 는 querydsl.datasource.replicas[n].*
+ */
+@Configuration
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@ConditionalOnProperty(name = "querydsl.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    // p6spy 데코레이션에서 제외 (decorator.datasource.exclude-beans) -> lazyRoutingDataSource 에서 직접 감싼다.
+    @Bean
+    public ReplicationRoutingDataSource replicationRoutingDataSource(DataSourceProperties primaryProperties,
+                                                                     RoutingDataSourceProperties routingProperties,
+                                                                     Environment environment) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        // 부트의 기본 dataSource 와 같이 spring.datasource.hikari.* 적용 (maximum-pool-size, connection-timeout ...)
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (RoutingDataSourceProperties.Replica replica : routingProperties.getReplicas()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(primaryProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .build();
+            dataSource.setPoolName("replica-" + replicas.size());
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        return new ReplicationRoutingDataSource(primary, replicas);
+    }
+
+    // 트랜잭션 시작 시점이 아니라 첫 SQL 실행 시점에 커넥션을 얻는다. -> 그때는 readOnly 여부가 정해져 있다.
+    // EMF 가 보는 가장 바깥 DataSource 여야 한다. (p6spy 가 바깥에 있으면 doBegin 에서 커넥션을 미리 얻어 버린다)
+    // -> p6spy 는 빈 후처리 (JDK 프록시라 ReplicationRoutingDataSource 로 주입할 수 없다) 대신 여기서 안쪽에 적용
+    @Bean
+    @Primary
+    public DataSource lazyRoutingDataSource(ReplicationRoutingDataSource replicationRoutingDataSource,
+                                            ObjectProvider<DataSourceDecorator> decorators) {
+        DataSource dataSource = replicationRoutingDataSource;
+        for (DataSourceDecorator decorator : decorators.orderedStream().toList()) {
+            dataSource = decorator.decorate("replicationRoutingDataSource", dataSource);
+        }
+        return new LazyConnectionDataSourceProxy(dataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReplicationRoutingDataSource replicationRoutingDataSource) {
+        return new ReplicaHealthChecker(replicationRoutingDataSource);
+    }
+
+    public static class ReplicaHealthChecker {
+
+        private final ReplicationRoutingDataSource routingDataSource;
+
+        public ReplicaHealthChecker(ReplicationRoutingDataSource routingDataSource) {
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Scheduled(fixedDelayString = "${querydsl.datasource.health-check-interval-ms:5000}")
+        public void checkHealth() {
+            routingDataSource.checkHealth();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package study.querydsl.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * readOnly 트랜잭션 -> replica (라운드 로빈), 그 외(쓰기, 벌크 연산) -> primary
+ * 트랜잭션의 readOnly 여부는 커넥션을 실제로 얻는 시점에 판단하므로 LazyConnectionDataSourceProxy 로 감싸서 써야 한다.
+ *
+ * replica 는 주기적으로 헬스 체크하고, 커넥션을 못 얻으면 바로 down 처리 후 primary 로 넘긴다.
+ */
+@Slf4j
+public class ReplicationRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    public static final String PRIMARY = "primary";
+
+    @Getter(AccessLevel.PACKAGE)
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Set<String> downReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public ReplicationRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        this.primary = primary;
+        Map<String, DataSource> byName = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            byName.put("replica-" + i, replicas.get(i));
+        }
+        this.replicas = Collections.unmodifiableMap(byName);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // 라우팅된 풀에 그대로 넘긴다. (HikariCP 는 풀 설정과 다른 계정을 지원하지 않아서 SQLFeatureNotSupportedException)
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        String key = currentLookupKey();
+        if (!PRIMARY.equals(key)) {
+            try {
+                return source.get(replicas.get(key));
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e; // replica 장애가 아니다.
+            } catch (SQLException e) {
+                markDown(key);
+                log.warn("replica {} unavailable, falling back to primary", key, e);
+            }
+        }
+        return source.get(primary);
+    }
+
+    public String currentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        List<String> healthy = healthyReplicas();
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(sequence.getAndIncrement(), healthy.size()));
+    }
+
+    public List<String> healthyReplicas() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        for (String name : replicas.keySet()) {
+            if (!downReplicas.contains(name)) {
+                healthy.add(name);
+            }
+        }
+        return healthy;
+    }
+
+    public void markDown(String replica) {
+        downReplicas.add(replica);
+    }
+
+    // 헬스 체크 - down 이었던 replica 도 살아나면 다시 사용
+    public void checkHealth() {
+        replicas.forEach((name, dataSource) -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if (connection.isValid(1)) {
+                    if (downReplicas.remove(name)) {
+                        log.info("replica {} is back", name);
+                    }
+                    return;
+                }
+            } catch (SQLException e) {
+                log.debug("replica {} health check failed", name, e);
+            }
+            if (downReplicas.add(name)) {
+                log.warn("replica {} is down", name);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(primary);
+        replicas.values().forEach(this::closeQuietly);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+
+    private void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("failed to close data source", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package study.querydsl.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * querydsl.datasource.* - 읽기 전용 replica 설정 (primary 는 spring.datasource 그대로 사용)
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "querydsl.datasource")
+public class RoutingDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+    private long healthCheckIntervalMs = 5_000;
+
+    @Getter @Setter
+    public static class Replica {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,64 @@
+package study.querydsl.controller;
+
+import static org.springframework.util.StringUtils.hasText;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.KeysetSlice;
+import study.querydsl.dto.MemberKeysetCursor;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+
+/**
+ * 회원 검색 API - 모두 DTO 프로젝션(MemberTeamDto, member left join team)으로 조회한다.
+ * 엔티티를 읽지 않으므로 영속성 컨텍스트에 아무것도 쌓이지 않는다. (스냅샷, dirty checking x)
+ *
+ * ex) /v1/members?teamName=teamB&ageGoe=31&ageLoe=35
+ */
+@RestController
+@RequiredArgsConstructor
+public class MemberController {
+
+    static final int MAX_KEYSET_SIZE = 100;
+
+    private final MemberRepository memberRepository;
+
+    @GetMapping("/v1/members")
+    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
+        return memberRepository.search(condition);
+    }
+
+    // ex) /v2/members?size=5&page=2
+    @GetMapping("/v2/members")
+    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+        return memberRepository.searchPage(condition, pageable);
+    }
+
+    // 다음 페이지는 응답의 nextCursor 로 (offset 없이)
+    // size 는 최대 MAX_KEYSET_SIZE, 1 미만이나 잘못된 cursor 는 400
+    // 리포지토리 안에서 던지면 예외 변환 (InvalidDataAccessApiUsageException -> 500) 을 거치므로 호출 전에 검사한다.
+    @GetMapping("/v3/members")
+    public KeysetSlice<MemberTeamDto> searchMemberV3(MemberSearchCondition condition,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be positive: " + size);
+        }
+        if (hasText(cursor)) {
+            try {
+                MemberKeysetCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
+        return memberRepository.searchByKeyset(condition, cursor, Math.min(size, MAX_KEYSET_SIZE));
+    }
+}
@@ -0,0 +1,47 @@
+package study.querydsl.controller;
+
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.querydsl.service.MemberExportService;
+import study.querydsl.service.MemberExportService.Format;
+
+@RestController
+@RequiredArgsConstructor
+public class MemberExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final MemberExportService memberExportService;
+
+    // 응답은 별도 스레드에서 스트리밍된다. (트랜잭션도 그 안에서 열림)
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "csv") String format) {
+        Format exportFormat = parseFormat(format);
+        StreamingResponseBody body = out -> memberExportService.export(exportFormat, out);
+
+        String filename = exportFormat == Format.CSV ? "members.csv" : "members.ndjson";
+        return ResponseEntity.ok()
+                .contentType(exportFormat == Format.CSV ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    // 모르는 형식은 400 (스트리밍을 시작하기 전에)
+    private static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unknown export format: " + format + " (csv, ndjson)");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 회원 수, 나이 합 / 최소 / 최대 (MemberSqlRepository.aggregate) - AgeStatisticsDto 의 primitive 판
+ * 호출하는 쪽이 만들어서 재사용한다. 회원이 없으면 모두 0
+ */
+@Getter
+@ToString
+public class AgeAggregate {
+
+    private long count;
+    private long sum;
+    private int min;
+    private int max;
+
+    public void set(long count, long sum, int min, int max) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public double getAverage() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+}
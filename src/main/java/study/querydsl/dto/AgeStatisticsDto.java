@@ -0,0 +1,26 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 회원 수, 나이 합 / 평균 / 최소 / 최대 (QuerydslBasicTest.aggregation)
+@Data
+@NoArgsConstructor
+public class AgeStatisticsDto {
+
+    private Long count;
+    private Long sum; // 합은 int 를 넘을 수 있다.
+    private Double avg;
+    private Integer min;
+    private Integer max;
+
+    @QueryProjection
+    public AgeStatisticsDto(Long count, Long sum, Double avg, Integer min, Integer max) {
+        this.count = count;
+        this.sum = sum;
+        this.avg = avg;
+        this.min = min;
+        this.max = max;
+    }
+}
@@ -0,0 +1,26 @@
+package study.querydsl.dto;
+
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class ImportResult {
+
+    private final long rows;
+    private final long elapsedNanos;
+
+    public ImportResult(long rows, long elapsedNanos) {
+        this.rows = rows;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,26 @@
+package study.querydsl.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 키셋(seek) 페이징 결과
+ * nextCursor는 다음 페이지 요청에 그대로 넘겨주면 된다. (마지막 페이지면 null)
+ */
+@Getter
+@ToString
+public class KeysetSlice<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public KeysetSlice(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
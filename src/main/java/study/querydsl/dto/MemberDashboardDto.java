@@ -0,0 +1,21 @@
+package study.querydsl.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.Page;
+
+@Getter
+@ToString
+public class MemberDashboardDto {
+
+    private final Page<MemberTeamDto> members;
+    private final AgeStatisticsDto ageStatistics;
+    private final List<TeamAgeDto> teamAges;
+
+    public MemberDashboardDto(Page<MemberTeamDto> members, AgeStatisticsDto ageStatistics, List<TeamAgeDto> teamAges) {
+        this.members = members;
+        this.ageStatistics = ageStatistics;
+        this.teamAges = teamAges;
+    }
+}
@@ -0,0 +1,51 @@
+package study.querydsl.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import lombok.Getter;
+
+/**
+ * 회원 키셋 페이징 커서 - 정렬키(username desc nulls last, member_id desc)의 마지막 값
+ * 클라이언트에는 base64 문자열로만 노출한다. (내부 포맷에 의존하지 못하게)
+ */
+@Getter
+public class MemberKeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final String username; // null 이면 nulls last 구간
+    private final Long memberId;
+
+    public MemberKeysetCursor(String username, Long memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("memberId is required");
+        }
+        this.username = username;
+        this.memberId = memberId;
+    }
+
+    // 포맷: {memberId}:{N 또는 S+username}
+    public String encode() {
+        String raw = memberId + ":" + (username == null ? "N" : "S" + username);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberKeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(':');
+            Long memberId = Long.valueOf(raw.substring(0, idx));
+            String key = raw.substring(idx + 1);
+            if (key.startsWith("N")) {
+                return new MemberKeysetCursor(null, memberId);
+            }
+            if (key.startsWith("S")) {
+                return new MemberKeysetCursor(key.substring(1), memberId);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor, e);
+        }
+        throw new IllegalArgumentException("invalid cursor: " + cursor);
+    }
+}
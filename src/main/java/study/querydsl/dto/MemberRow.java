@@ -0,0 +1,30 @@
+package study.querydsl.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 읽기 전용 순회용 회원 row (MemberSqlRepository.forEachRow)
+ * 한 객체를 row 마다 다시 채운다. -> 콜백 밖에 보관하지 않는다. (필요하면 값을 꺼내서 복사)
+ * 숫자는 primitive, teamId 가 0 이면 팀 없음
+ */
+@Getter
+@ToString
+public class MemberRow {
+
+    private long id;
+    private String username;
+    private int age;
+    private long teamId;
+
+    public void set(long id, String username, int age, long teamId) {
+        this.id = id;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+    }
+
+    public boolean hasTeam() {
+        return teamId != 0;
+    }
+}
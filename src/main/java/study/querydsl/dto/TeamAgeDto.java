@@ -0,0 +1,20 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 팀 이름과 팀의 평균 나이 (QuerydslBasicTest.group)
+@Data
+@NoArgsConstructor
+public class TeamAgeDto {
+
+    private String teamName;
+    private Double averageAge;
+
+    @QueryProjection
+    public TeamAgeDto(String teamName, Double averageAge) {
+        this.teamName = teamName;
+        this.averageAge = averageAge;
+    }
+}
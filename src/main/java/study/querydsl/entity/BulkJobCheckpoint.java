@@ -0,0 +1,55 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 청크 단위 벌크 작업 진행 상황 (ChunkedBulkExecutor)
+ * 청크를 커밋할 때 같은 트랜잭션에서 lastId 를 올린다. -> 실패 후 다시 실행하면 lastId 다음부터 이어서
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class BulkJobCheckpoint {
+
+    public enum Status {RUNNING, FAILED, COMPLETED}
+
+    @Id
+    private String jobName;
+    private long firstId;   // 시작 위치 (진행률 계산용)
+    private long lastId;    // 여기까지 처리 완료 (id <= lastId)
+    private long maxId;     // 시작할 때의 최대 id, 이후에 추가된 행은 대상 아님
+    private long affectedRows;
+    @Enumerated(EnumType.STRING)
+    private Status status;
+    private LocalDateTime updatedAt;
+
+    public BulkJobCheckpoint(String jobName, long lastId, long maxId) {
+        this.jobName = jobName;
+        this.firstId = lastId;
+        this.lastId = lastId;
+        this.maxId = maxId;
+        this.status = Status.RUNNING;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void advance(long lastId, long affected) {
+        this.lastId = lastId;
+        this.affectedRows += affected;
+        this.status = lastId >= maxId ? Status.COMPLETED : Status.RUNNING;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void fail() {
+        this.status = Status.FAILED;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
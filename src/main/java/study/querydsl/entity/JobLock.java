@@ -0,0 +1,32 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 이름별 락 행 - 트랜잭션 끝까지 for update 로 잡아서 같은 작업을 서버가 여러 대여도 하나씩 실행한다. (MemberUpsertService)
+ * 진행 상황은 남기지 않는다. (청크 작업의 진행 상황은 BulkJobCheckpoint)
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class JobLock {
+
+    @Id
+    private String name;
+    private LocalDateTime lockedAt; // 마지막으로 잡은 시각
+
+    public JobLock(String name) {
+        this.name = name;
+    }
+
+    public void locked() {
+        this.lockedAt = LocalDateTime.now();
+    }
+}
@@ -1,26 +1,45 @@
 package study.querydsl.entity;
 
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member") // 2차 캐시
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"}) //team은 toString x
+@Table(indexes = {
+        @Index(name = "idx_member_username_id", columnList = "username, member_id"), // username 검색, 정렬 + 키셋 페이징
+        @Index(name = "idx_member_age", columnList = "age"),
+        @Index(name = "idx_member_team_id", columnList = "team_id")
+})
+@NamedEntityGraph(name = "Member.team", attributeNodes = @NamedAttributeNode("team"))
 public class Member {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50) // pooled: 시퀀스 1번 호출로 50개 id 확보
     @Column(name =  "member_id")
     private Long id;
     private String username;
@@ -49,7 +68,7 @@ public class Member {
 
     private void changeTeam(Team team) {
         this.team = team;
-        team.getMembers().add(this); // 연관관계 주입
+        team.addMember(this); // 연관관계 주입 (members 전체를 로딩하지 않는다)
     }
 
 
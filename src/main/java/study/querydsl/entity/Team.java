@@ -1,10 +1,17 @@
 package study.querydsl.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.AccessLevel;
@@ -12,17 +19,30 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.collection.spi.AbstractPersistentCollection;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team") // 2차 캐시
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED) // 기본생성자
 @ToString(of = {"id", "name"})
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name"))
+@BatchSize(size = 100) // member.team 프록시를 in 쿼리로 100개씩 초기화
+@NamedEntityGraph(name = "Team.members", attributeNodes = @NamedAttributeNode("members"))
 public class Team {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50)
     @Column(name = "team_id")
     private Long id;
     private String name;
 
+    // 크기, 포함 여부, 페이지 조회는 TeamRepository.countMembers / containsMember / findMembers 로 (전체 로딩 x)
+    @BatchSize(size = 100) // 여러 팀의 members 를 in 쿼리로 한 번에
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
@@ -30,4 +50,17 @@ public class Team {
     public Team(String name) {
         this.name = name;
     }
+
+    /**
+     * 연관관계 편의 메서드 - members 를 로딩하지 않는다.
+     * mappedBy 쪽 bag 은 초기화 전이면 add 를 큐에 쌓아 두었다가 초기화될 때 합친다. (PersistentBag)
+     * 세션 밖(준영속)이면 큐에 쌓을 수 없으므로 건너뛴다. -> 연관관계 주인(member.team)만으로 DB 에는 반영된다.
+     */
+    void addMember(Member member) {
+        if (members instanceof AbstractPersistentCollection<?> collection
+                && !collection.wasInitialized() && collection.getSession() == null) {
+            return;
+        }
+        members.add(member);
+    }
 }
@@ -0,0 +1,43 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * 팀별 회원 수, 나이 합 / 최소 / 최대 (QuerydslBasicTest.group, aggregation 을 미리 계산해 둔 테이블)
+ * TeamStatisticsMaintainer 가 member 변경분을 JDBC 로 반영한다. -> 엔티티로는 읽기만
+ *
+ * 팀이 없는 회원은 teamId = 0 (NO_TEAM) 으로 모은다.
+ *
+ * member 를 query space 에 넣어 둔다. (@Synchronize) -> 이 엔티티를 조회하는 쿼리 전에 member 변경분이 자동 flush 되어
+ * 같은 트랜잭션에서 flush 하지 않은 변경도 통계에 반영된다. (em.find / findById 는 쿼리가 아니라 flush 하지 않는다)
+ */
+@Entity
+@Immutable
+@Synchronize("member")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TeamStatistics {
+
+    public static final long NO_TEAM = 0L;
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+    private long memberCount;
+    private long ageSum;
+    private Integer ageMin;
+    private Integer ageMax;
+
+    public Double getAverageAge() {
+        return memberCount == 0 ? null : (double) ageSum / memberCount;
+    }
+}
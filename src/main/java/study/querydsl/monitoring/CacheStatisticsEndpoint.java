@@ -0,0 +1,73 @@
+package study.querydsl.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/cachestats - 2차 캐시, 쿼리 캐시 hit / miss / put / eviction
+ * hit, miss 는 하이버네이트 통계, eviction 은 Caffeine 이 JMX 로 노출하는 JCache 통계에서 읽는다.
+ */
+@Component
+@Endpoint(id = "cachestats")
+@RequiredArgsConstructor
+public class CacheStatisticsEndpoint {
+
+    private final EntityManagerFactory emf;
+
+    @ReadOperation
+    public Map<String, Object> cacheStatistics() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Long> evictions = evictionsByCache();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("hit", region.getHitCount());
+            stats.put("miss", region.getMissCount());
+            stats.put("put", region.getPutCount());
+            stats.put("size", region.getElementCountInMemory());
+            stats.put("eviction", evictions.getOrDefault(regionName, 0L));
+            regions.put(regionName, stats);
+        }
+
+        Map<String, Object> queryCache = new LinkedHashMap<>();
+        queryCache.put("hit", statistics.getQueryCacheHitCount());
+        queryCache.put("miss", statistics.getQueryCacheMissCount());
+        queryCache.put("put", statistics.getQueryCachePutCount());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("regions", regions);
+        result.put("queryCache", queryCache);
+        return result;
+    }
+
+    private Map<String, Long> evictionsByCache() {
+        Map<String, Long> evictions = new LinkedHashMap<>();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                Object count = server.getAttribute(name, "CacheEvictions");
+                evictions.merge(name.getKeyProperty("Cache"), ((Number) count).longValue(), Long::sum);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("JCache statistics not available", e);
+        }
+        return evictions;
+    }
+}
@@ -0,0 +1,23 @@
+package study.querydsl.monitoring;
+
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/indexadvice - 인덱스 없이 where / order by 에 쓰인 컬럼과 사용 횟수
+ */
+@Component
+@Endpoint(id = "indexadvice")
+@RequiredArgsConstructor
+public class IndexAdviceEndpoint {
+
+    private final IndexAdvisor indexAdvisor;
+
+    @ReadOperation
+    public Map<String, Long> uncoveredPaths() {
+        return indexAdvisor.uncoveredPaths();
+    }
+}
@@ -0,0 +1,239 @@
+package study.querydsl.monitoring;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.Visitor;
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 인덱스 어드바이저 - 실행되는 Querydsl 쿼리의 where / order by 에 쓰인 경로를 모아서
+ * 어떤 인덱스(@Table(indexes), PK)의 선두 컬럼도 아닌 경로를 기록한다.
+ * 조회: /actuator/indexadvice
+ *
+ * 경로 -> 컬럼 매핑은 엔티티 애노테이션(@Column, @JoinColumn)을 보고, 결과는 경로별로 캐시한다.
+ * (리플렉션은 경로마다 처음 1번)
+ *
+ * 모든 fetch 에서 식 트리를 훑지 않도록 sampleRate 건 중 1건만 검사한다. (querydsl.index-advisor.sample-rate)
+ * 사용 횟수는 검사한 건수 x sampleRate 로 센 추정치 -> 자주 쓰이는 경로일수록 정확하다.
+ */
+@Slf4j
+@Component
+public class IndexAdvisor {
+
+    private static final PathCollector PATH_COLLECTOR = new PathCollector();
+
+    private final int sampleRate;
+    // 경로 -> 인덱스 없는 컬럼 (인덱스가 있거나 컬럼이 아니면 empty)
+    private final ConcurrentMap<Path<?>, Optional<String>> uncoveredByPath = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> uncovered = new ConcurrentHashMap<>();
+
+    public IndexAdvisor(@Value("${querydsl.index-advisor.sample-rate:100}") int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be >= 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public void inspect(QueryMetadata metadata) {
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+
+        Set<Path<?>> paths = new HashSet<>();
+        PATH_COLLECTOR.collect(metadata, paths);
+
+        for (Path<?> path : paths) {
+            uncoveredByPath.computeIfAbsent(path, IndexAdvisor::uncoveredColumn)
+                    .ifPresent(key -> uncovered.computeIfAbsent(key, k -> {
+                        log.info("no index covers predicate/order path {}", k);
+                        return new LongAdder();
+                    }).add(sampleRate));
+        }
+    }
+
+    private static Optional<String> uncoveredColumn(Path<?> path) {
+        ColumnRef column = ColumnRef.of(path);
+        if (column == null || column.isIndexed()) {
+            return Optional.empty();
+        }
+        return Optional.of(column.toString());
+    }
+
+    // 인덱스가 없는 경로 -> 사용 횟수 (추정)
+    public Map<String, Long> uncoveredPaths() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        uncovered.forEach((path, count) -> result.put(path, count.sum()));
+        return result;
+    }
+
+    private static final class ColumnRef {
+
+        private final Class<?> entity;
+        private final String column;
+
+        private ColumnRef(Class<?> entity, String column) {
+            this.entity = entity;
+            this.column = column;
+        }
+
+        /**
+         * member.username -> (Member, username)
+         * member.team.id  -> (Member, team_id)  연관관계 FK
+         * team.name       -> (Team, name)
+         */
+        static ColumnRef of(Path<?> path) {
+            Path<?> parent = path.getMetadata().getParent();
+            if (parent == null) {
+                return null; // 엔티티 자체 (member1)
+            }
+            Class<?> owner = parent.getType();
+            Field field = findField(owner, path.getMetadata().getName().toString());
+            if (field == null || owner.getAnnotation(jakarta.persistence.Entity.class) == null) {
+                return null;
+            }
+
+            Path<?> grandParent = parent.getMetadata().getParent();
+            if (field.isAnnotationPresent(Id.class) && grandParent != null) {
+                Field association = findField(grandParent.getType(), parent.getMetadata().getName().toString());
+                JoinColumn joinColumn = association == null ? null : association.getAnnotation(JoinColumn.class);
+                if (joinColumn != null) {
+                    return new ColumnRef(grandParent.getType(), joinColumn.name());
+                }
+            }
+            return new ColumnRef(owner, columnName(field));
+        }
+
+        boolean isIndexed() {
+            Table table = entity.getAnnotation(Table.class);
+            if (table != null) {
+                for (Index index : table.indexes()) {
+                    String leading = index.columnList().split(",")[0].trim().split("\\s+")[0];
+                    if (leading.equalsIgnoreCase(column)) {
+                        return true;
+                    }
+                }
+            }
+            for (Field field : entity.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class) && columnName(field).equalsIgnoreCase(column)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static Field findField(Class<?> type, String name) {
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                try {
+                    return c.getDeclaredField(name);
+                } catch (NoSuchFieldException ignored) {
+                    // 상위 클래스에서 찾는다
+                }
+            }
+            return null;
+        }
+
+        // 스프링 부트 기본 네이밍 (camelCase -> snake_case)
+        private static String columnName(Field field) {
+            Column column = field.getAnnotation(Column.class);
+            if (column != null && !column.name().isEmpty()) {
+                return column.name();
+            }
+            JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+            if (joinColumn != null && !joinColumn.name().isEmpty()) {
+                return joinColumn.name();
+            }
+            return field.getName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+        }
+
+        @Override
+        public String toString() {
+            return entity.getSimpleName() + "." + column;
+        }
+    }
+
+    // where, order by (서브쿼리 포함) 에 쓰인 경로 수집
+    private static final class PathCollector implements Visitor<Void, Set<Path<?>>> {
+
+        void collect(QueryMetadata metadata, Set<Path<?>> paths) {
+            if (metadata.getWhere() != null) {
+                metadata.getWhere().accept(this, paths);
+            }
+            for (OrderSpecifier<?> order : metadata.getOrderBy()) {
+                order.getTarget().accept(this, paths);
+            }
+        }
+
+        @Override
+        public Void visit(Constant<?> expr, Set<Path<?>> paths) {
+            return null;
+        }
+
+        @Override
+        public Void visit(FactoryExpression<?> expr, Set<Path<?>> paths) {
+            for (Expression<?> arg : expr.getArgs()) {
+                arg.accept(this, paths);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(Operation<?> expr, Set<Path<?>> paths) {
+            for (Expression<?> arg : expr.getArgs()) {
+                arg.accept(this, paths);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> expr, Set<Path<?>> paths) {
+            return null;
+        }
+
+        @Override
+        public Void visit(Path<?> expr, Set<Path<?>> paths) {
+            paths.add(expr);
+            return null;
+        }
+
+        @Override
+        public Void visit(SubQueryExpression<?> expr, Set<Path<?>> paths) {
+            collect(expr.getMetadata(), paths);
+            return null;
+        }
+
+        @Override
+        public Void visit(TemplateExpression<?> expr, Set<Path<?>> paths) {
+            for (Object arg : expr.getArgs()) {
+                if (arg instanceof Expression<?> expression) {
+                    expression.accept(this, paths);
+                }
+            }
+            return null;
+        }
+    }
+}
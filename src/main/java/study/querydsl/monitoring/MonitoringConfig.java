@@ -0,0 +1,16 @@
+package study.querydsl.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MonitoringConfig {
+
+    // 스프링 빈으로 만든 StatementInspector 를 하이버네이트에 등록
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(NPlusOneStatementInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
@@ -0,0 +1,123 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * N+1 감지 - 트랜잭션 안에서 member / team 을 읽는 "같은 모양"의 select 가 threshold 번 이상 나가면 경고한다.
+ * (fetchJoinNo 처럼 지연 로딩이 row 마다 쿼리를 날리는 경우)
+ *
+ * 하이버네이트가 보내는 SQL 은 파라미터가 ? 로 바인딩되어 있어서 SQL 문자열 자체가 쿼리 모양이 된다.
+ * strict 모드에서는 예외를 던진다. -> 테스트에서 N+1 이 생기면 실패
+ *
+ * 청크 / 배치 단위로 같은 select 를 반복하는 작업(대량 등록, 청크 벌크 연산)은 ignored-callers 로 제외한다.
+ * (호출 스택에 있는 클래스 이름의 접두사, 감지된 순간에만 스택을 본다)
+ */
+@Slf4j
+@Component
+public class NPlusOneStatementInspector implements StatementInspector {
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern WATCHED_TABLE = Pattern.compile("\\bfrom (member|team)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+    private final boolean strict;
+    private final List<String> ignoredCallers;
+
+    public NPlusOneStatementInspector(MeterRegistry meterRegistry,
+                                      @Value("${querydsl.n-plus-one.threshold:10}") int threshold,
+                                      @Value("${querydsl.n-plus-one.strict:false}") boolean strict,
+                                      @Value("${querydsl.n-plus-one.ignored-callers:}") List<String> ignoredCallers) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.strict = strict;
+        this.ignoredCallers = List.copyOf(ignoredCallers);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return sql;
+        }
+
+        String shape = WHITESPACE.matcher(COMMENT.matcher(sql).replaceAll(" ")).replaceAll(" ").trim();
+        if (!shape.regionMatches(true, 0, "select", 0, 6)) {
+            return sql;
+        }
+        Matcher table = WATCHED_TABLE.matcher(shape);
+        if (!table.find()) {
+            return sql;
+        }
+
+        int count = statementCounts().merge(shape, 1, Integer::sum);
+        if (count == threshold && !calledFromIgnored()) {
+            report(table.group(1).toLowerCase(), shape, count);
+        }
+        return sql;
+    }
+
+    private void report(String tableName, String shape, int count) {
+        String callSite = callSite();
+        Counter.builder("querydsl.n_plus_one")
+                .description("같은 모양의 select 가 한 트랜잭션에서 반복된 횟수")
+                .tag("table", tableName)
+                .register(meterRegistry)
+                .increment();
+
+        String message = "N+1 suspected: " + count + " same-shape selects on " + tableName
+                + " at " + callSite + " -> " + shape;
+        if (strict) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    // 트랜잭션 단위 카운터 - 트랜잭션이 끝나면 정리
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> statementCounts() {
+        Map<String, Integer> counts = (Map<String, Integer>) TransactionSynchronizationManager.getResource(this);
+        if (counts == null) {
+            counts = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, counts);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(NPlusOneStatementInspector.this);
+                }
+            });
+        }
+        return counts;
+    }
+
+    private boolean calledFromIgnored() {
+        if (ignoredCallers.isEmpty()) {
+            return false;
+        }
+        return StackWalker.getInstance().walk(frames -> frames
+                .anyMatch(f -> ignoredCallers.stream().anyMatch(f.getClassName()::startsWith)));
+    }
+
+    // 하이버네이트 / 스프링 프레임을 건너뛰고 애플리케이션 코드 위치를 찾는다.
+    private String callSite() {
+        Optional<String> frame = StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("study.querydsl"))
+                .filter(f -> !f.getClassName().startsWith("study.querydsl.monitoring"))
+                .findFirst()
+                .map(f -> f.getClassName() + "." + f.getMethodName() + ":" + f.getLineNumber()));
+        return frame.orElse("unknown");
+    }
+}
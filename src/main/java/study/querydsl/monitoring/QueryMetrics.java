@@ -0,0 +1,66 @@
+package study.querydsl.monitoring;
+
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.QueryMetadata;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Querydsl 쿼리 지표 (micrometer -> /actuator/metrics)
+ * - querydsl.query       : 실행 시간 (histogram)
+ * - querydsl.query.rows  : select 는 조회 row 수, update / delete 는 영향 받은 row 수
+ * 태그: name(논리 쿼리 이름), entity(from 절 Q타입), operation(select, update, delete)
+ *
+ * 쿼리 이름은 query.setHint(QueryMetrics.QUERY_NAME_HINT, "이름") 으로 지정한다.
+ */
+@Component
+public class QueryMetrics {
+
+    public static final String QUERY_NAME_HINT = "querydsl.queryName";
+    public static final String UNNAMED = "unnamed";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(String operation, String name, String entity, long elapsedNanos, long rows) {
+        Meters m = meters.computeIfAbsent(operation + '|' + name + '|' + entity, key -> new Meters(operation, name, entity));
+        m.timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        m.rows.record(rows);
+    }
+
+    // from 절의 첫 번째 엔티티 (QMember, QTeam ...)
+    public static String entityOf(QueryMetadata metadata) {
+        List<JoinExpression> joins = metadata.getJoins();
+        return joins.isEmpty() ? "unknown" : joins.get(0).getTarget().getClass().getSimpleName();
+    }
+
+    private final class Meters {
+
+        private final Timer timer;
+        private final DistributionSummary rows;
+
+        private Meters(String operation, String name, String entity) {
+            this.timer = Timer.builder("querydsl.query")
+                    .tag("operation", operation)
+                    .tag("name", name)
+                    .tag("entity", entity)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            this.rows = DistributionSummary.builder("querydsl.query.rows")
+                    .tag("operation", operation)
+                    .tag("name", name)
+                    .tag("entity", entity)
+                    .register(registry);
+        }
+    }
+}
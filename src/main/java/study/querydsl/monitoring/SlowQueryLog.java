@@ -0,0 +1,153 @@
+package study.querydsl.monitoring;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import jakarta.annotation.PreDestroy;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 슬로우 쿼리 로그 - p6spy 리스너로 threshold 이상 걸린 SQL 을 최근 N 건 링 버퍼에 보관한다.
+ * select 는 별도 스레드에서 EXPLAIN ANALYZE 를 실행해 실행 계획도 같이 남긴다. (분당 횟수 제한)
+ * EXPLAIN ANALYZE 는 쿼리를 한 번 더 실행하므로 부작용이 있는 select (for update / for share 락, 시퀀스 증가) 는 제외한다.
+ * 조회: /actuator/slowqueries
+ */
+@Slf4j
+@Component
+public class SlowQueryLog extends SimpleJdbcEventListener {
+
+    private static final Pattern COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern SIDE_EFFECT = Pattern.compile(
+            "\\bfor\\s+(update|share|no\\s+key\\s+update|key\\s+share)\\b|\\bnext\\s+value\\s+for\\b|\\bnextval\\s*\\(",
+            Pattern.CASE_INSENSITIVE);
+
+    private final ObjectProvider<DataSource> dataSource; // DataSource 데코레이션(p6spy)과 순환 참조를 피하려고 지연 조회
+    private final long thresholdNanos;
+    private final int explainPerMinute;
+
+    private final SlowQuery[] buffer;
+    private int next;
+    private long total;
+
+    private final ThreadPoolExecutor explainExecutor;
+    private final AtomicLong windowStart = new AtomicLong();
+    private final AtomicInteger explainsInWindow = new AtomicInteger();
+
+    public SlowQueryLog(ObjectProvider<DataSource> dataSource,
+                        @Value("${querydsl.slow-query.threshold-ms:200}") long thresholdMillis,
+                        @Value("${querydsl.slow-query.capacity:100}") int capacity,
+                        @Value("${querydsl.slow-query.explain-per-minute:10}") int explainPerMinute) {
+        this.dataSource = dataSource;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.explainPerMinute = explainPerMinute;
+        this.buffer = new SlowQuery[capacity];
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy()); // 밀리면 버린다
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos < thresholdNanos) {
+            return;
+        }
+        String sql = COMMENT.matcher(statementInformation.getSqlWithValues()).replaceAll(" ").trim();
+        if (sql.isEmpty() || sql.regionMatches(true, 0, "explain", 0, 7)) {
+            return; // EXPLAIN 자신은 기록하지 않는다
+        }
+
+        SlowQuery slowQuery = new SlowQuery(sql, TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos), Instant.now());
+        add(slowQuery);
+        log.warn("slow query {}ms: {}", slowQuery.getElapsedMillis(), sql);
+
+        if (isExplainable(sql) && tryAcquireExplain()) {
+            explainExecutor.execute(() -> explain(slowQuery));
+        }
+    }
+
+    // 다시 실행해도 되는 select 만 (insert / update / delete, 락, 시퀀스 x)
+    static boolean isExplainable(String sql) {
+        return sql.regionMatches(true, 0, "select", 0, 6) && !SIDE_EFFECT.matcher(sql).find();
+    }
+
+    // 최신순
+    public synchronized List<SlowQuery> recent() {
+        List<SlowQuery> result = new ArrayList<>(buffer.length);
+        for (int i = 1; i <= buffer.length; i++) {
+            SlowQuery slowQuery = buffer[Math.floorMod(next - i, buffer.length)];
+            if (slowQuery != null) {
+                result.add(slowQuery);
+            }
+        }
+        return result;
+    }
+
+    public synchronized long total() {
+        return total;
+    }
+
+    private synchronized void add(SlowQuery slowQuery) {
+        buffer[next] = slowQuery;
+        next = (next + 1) % buffer.length;
+        total++;
+    }
+
+    // 1분 고정 윈도우 rate limit
+    private boolean tryAcquireExplain() {
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+        if (now - start >= 60_000 && windowStart.compareAndSet(start, now)) {
+            explainsInWindow.set(0);
+        }
+        return explainsInWindow.incrementAndGet() <= explainPerMinute;
+    }
+
+    private void explain(SlowQuery slowQuery) {
+        try {
+            List<String> plan = new JdbcTemplate(dataSource.getObject())
+                    .queryForList("EXPLAIN ANALYZE " + slowQuery.getSql(), String.class);
+            slowQuery.plan = plan.stream().collect(Collectors.joining("\n"));
+        } catch (RuntimeException ex) {
+            slowQuery.plan = "EXPLAIN failed: " + ex.getMessage();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    @Getter
+    public static class SlowQuery {
+
+        private final String sql;
+        private final long elapsedMillis;
+        private final Instant executedAt;
+        private volatile String plan; // EXPLAIN 이 끝나면 채워진다
+
+        SlowQuery(String sql, long elapsedMillis, Instant executedAt) {
+            this.sql = sql;
+            this.elapsedMillis = elapsedMillis;
+            this.executedAt = executedAt;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import study.querydsl.entity.BulkJobCheckpoint;
+
+public interface BulkJobCheckpointRepository extends JpaRepository<BulkJobCheckpoint, String> {
+
+    // select ... for update -> 같은 jobName 을 처리하는 트랜잭션끼리 순서대로
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from BulkJobCheckpoint c where c.jobName = :jobName")
+    Optional<BulkJobCheckpoint> findForUpdate(String jobName);
+}
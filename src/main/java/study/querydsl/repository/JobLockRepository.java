@@ -0,0 +1,16 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import study.querydsl.entity.JobLock;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // select ... for update -> 같은 이름을 잡으려는 트랜잭션끼리 순서대로
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from JobLock l where l.name = :name")
+    Optional<JobLock> findForUpdate(String name);
+}
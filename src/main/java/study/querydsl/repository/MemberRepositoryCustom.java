@@ -0,0 +1,27 @@
+package study.querydsl.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.KeysetSlice;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.support.FetchPlan;
+
+public interface MemberRepositoryCustom {
+
+    List<MemberTeamDto> search(MemberSearchCondition condition);
+
+    // 조건 유무(쿼리 모양) 별로 JPQL 을 캐시해서 재사용
+    List<Member> searchMembers(MemberSearchCondition condition);
+
+    // team 로딩 전략을 호출하는 쪽에서 선택
+    List<Member> findMembers(MemberSearchCondition condition, FetchPlan fetchPlan);
+
+    // content 쿼리 + 최적화된 count 쿼리 (필요할 때만 실행)
+    Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable);
+
+    // offset 없이 마지막으로 본 정렬키 다음부터 조회 -> 몇 번째 페이지든 비용이 같다.
+    KeysetSlice<MemberTeamDto> searchByKeyset(MemberSearchCondition condition, String cursor, int size);
+}
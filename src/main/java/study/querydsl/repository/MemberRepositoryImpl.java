@@ -0,0 +1,219 @@
+package study.querydsl.repository;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.KeysetSlice;
+import study.querydsl.dto.MemberKeysetCursor;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.monitoring.QueryMetrics;
+import study.querydsl.repository.support.FetchPlan;
+import study.querydsl.repository.support.QueryShapeCache;
+import study.querydsl.repository.support.QuerydslPaging;
+
+@RequiredArgsConstructor
+public class MemberRepositoryImpl implements MemberRepositoryCustom {
+
+    private static final Param<String> USERNAME = new Param<>(String.class, "username");
+    private static final Param<String> TEAM_NAME = new Param<>(String.class, "teamName");
+    private static final Param<Integer> AGE_GOE = new Param<>(Integer.class, "ageGoe");
+    private static final Param<Integer> AGE_LOE = new Param<>(Integer.class, "ageLoe");
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final QueryShapeCache queryShapeCache;
+
+    @Override
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .setHint(HibernateHints.HINT_CACHEABLE, true) // 쿼리 캐시 - member, team 변경 시 자동 무효화
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "member.search")
+                .fetch();
+    }
+
+    @Override
+    public List<Member> searchMembers(MemberSearchCondition condition) {
+        Map<ParamExpression<?>, Object> params = new HashMap<>();
+        if (hasText(condition.getUsername())) {
+            params.put(USERNAME, condition.getUsername());
+        }
+        if (hasText(condition.getTeamName())) {
+            params.put(TEAM_NAME, condition.getTeamName());
+        }
+        if (condition.getAgeGoe() != null) {
+            params.put(AGE_GOE, condition.getAgeGoe());
+        }
+        if (condition.getAgeLoe() != null) {
+            params.put(AGE_LOE, condition.getAgeLoe());
+        }
+
+        // 캐시에 없는 모양일 때만 쿼리를 조립한다. (값 대신 Param)
+        return queryShapeCache.fetch("searchMembers", params, () -> queryFactory
+                .selectFrom(member)
+                .leftJoin(member.team, team)
+                .where(
+                        params.containsKey(USERNAME) ? member.username.eq(USERNAME) : null,
+                        params.containsKey(TEAM_NAME) ? team.name.eq(TEAM_NAME) : null,
+                        params.containsKey(AGE_GOE) ? member.age.goe(AGE_GOE) : null,
+                        params.containsKey(AGE_LOE) ? member.age.loe(AGE_LOE) : null
+                ));
+    }
+
+    @Override
+    public List<Member> findMembers(MemberSearchCondition condition, FetchPlan fetchPlan) {
+        JPAQuery<Member> query = queryFactory
+                .selectFrom(member)
+                .leftJoin(member.team, team);
+
+        List<Member> result = fetchPlan.prepare(query, em, "Member.team", JPAQuery::fetchJoin)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .orderBy(member.id.asc())
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "member.findMembers")
+                .fetch();
+
+        return fetchPlan.initialize(result, Member::getTeam);
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        JPAQuery<MemberTeamDto> contentQuery = queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                )
+                .orderBy(member.id.asc())
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "member.searchPage");
+
+        return QuerydslPaging.page(contentQuery, pageable, countQuery(condition));
+    }
+
+    // order by 없음, team 조인은 팀명 조건이 있을 때만 (member -> team 은 N:1 이라 조인해도 row 수가 같다)
+    private JPAQuery<Long> countQuery(MemberSearchCondition condition) {
+        JPAQuery<Long> countQuery = queryFactory
+                .select(member.count())
+                .from(member)
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "member.searchPage.count");
+
+        if (hasText(condition.getTeamName())) {
+            countQuery.join(member.team, team);
+        }
+
+        return countQuery
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe())
+                );
+    }
+
+    @Override
+    public KeysetSlice<MemberTeamDto> searchByKeyset(MemberSearchCondition condition, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+
+        List<MemberTeamDto> content = queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(
+                        usernameEq(condition.getUsername()),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()),
+                        after(cursor)
+                )
+                .orderBy(member.username.desc().nullsLast(), member.id.desc()) // member_id로 동률 정리
+                .limit(size + 1) // 한 건 더 읽어서 다음 페이지 존재 여부 판단 (count 쿼리 x)
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "member.searchByKeyset")
+                .fetch();
+
+        if (content.size() <= size) {
+            return new KeysetSlice<>(content, null);
+        }
+
+        List<MemberTeamDto> page = content.subList(0, size);
+        MemberTeamDto last = page.get(size - 1);
+        return new KeysetSlice<>(page, new MemberKeysetCursor(last.getUsername(), last.getMemberId()).encode());
+    }
+
+    private QMemberTeamDto memberTeamDto() {
+        return new QMemberTeamDto(
+                member.id,
+                member.username,
+                member.age,
+                team.id,
+                team.name);
+    }
+
+    /**
+     * 정렬: username desc nulls last, member_id desc
+     * 커서 이후 = (username < ?) or (username = ? and member_id < ?) or (username is null)
+     * username <= ? 를 앞에 두어서 (username, member_id) 인덱스를 범위 스캔으로 탈 수 있게 한다.
+     */
+    private BooleanExpression after(String cursor) {
+        if (!hasText(cursor)) {
+            return null;
+        }
+        MemberKeysetCursor key = MemberKeysetCursor.decode(cursor);
+        if (key.getUsername() == null) {
+            return member.username.isNull().and(member.id.lt(key.getMemberId()));
+        }
+        return member.username.loe(key.getUsername())
+                .and(member.username.lt(key.getUsername()).or(member.id.lt(key.getMemberId())))
+                .or(member.username.isNull());
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return hasText(username) ? member.username.eq(username) : null;
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? member.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? member.age.loe(ageLoe) : null;
+    }
+}
@@ -0,0 +1,149 @@
+package study.querydsl.repository;
+
+import static org.springframework.util.StringUtils.hasText;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.AgeAggregate;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberRow;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.monitoring.QueryMetrics;
+import study.querydsl.sql.SMember;
+import study.querydsl.sql.STeam;
+
+/**
+ * 자주 호출되는 읽기 전용 조회를 하이버네이트 없이 JDBC 로 (querydsl-sql)
+ * - 엔티티 / 스냅샷 / 영속성 컨텍스트 없이 ResultSet -> MemberDto 로 바로 매핑
+ * - 트랜잭션의 커넥션을 쓴다. (SpringConnectionProvider 는 트랜잭션 밖에서 호출하면 실패) -> 클래스 단위 readOnly 트랜잭션
+ *   새로 시작하면 readOnly 라 replica 로 라우팅, 바깥 트랜잭션이 있으면 참여하지만 flush 되지 않은 변경은 보이지 않는다.
+ * 조건은 MemberRepositoryImpl.search 와 같다.
+ *
+ * 결과를 한 번 훑고 버리는 경우 (집계, 내보내기, 스냅샷 적재) 는 forEachRow / aggregate
+ * -> row 마다 Tuple(Object[] + 박싱된 숫자) 이나 DTO 를 만들지 않고 재사용 객체에 채운다.
+ */
+@Repository
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MemberSqlRepository {
+
+    private static final SMember m = SMember.member;
+    private static final STeam t = STeam.team;
+
+    private final SQLQueryFactory sqlQueryFactory;
+    private final QueryMetrics queryMetrics;
+
+    public List<MemberDto> search(MemberSearchCondition condition) {
+        return fetch("member.sql.search", searchQuery(sqlQueryFactory.select(new QMemberDto(m.username, m.age)), condition)
+                .orderBy(m.memberId.asc()));
+    }
+
+    public List<MemberDto> findByUsername(String username) {
+        return fetch("member.sql.findByUsername", sqlQueryFactory
+                .select(new QMemberDto(m.username, m.age))
+                .from(m)
+                .where(m.username.eq(username))
+                .orderBy(m.memberId.asc()));
+    }
+
+    /**
+     * 조건에 맞는 회원을 id 순으로 action 에 넘긴다. 넘기는 MemberRow 는 모든 row 에서 같은 객체
+     * -> action 밖에 보관하지 않는다. (필요하면 값을 꺼내서 복사)
+     * @return 처리한 row 수
+     */
+    public long forEachRow(MemberSearchCondition condition, Consumer<MemberRow> action) {
+        SQLQuery<?> query = searchQuery(sqlQueryFactory.select(m.memberId, m.username, m.age, m.teamId), condition)
+                .orderBy(m.memberId.asc());
+
+        MemberRow row = new MemberRow();
+        return read("member.sql.forEachRow", query, rs -> {
+            row.set(rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getLong(4)); // team_id 가 null 이면 0
+            action.accept(row);
+        });
+    }
+
+    /**
+     * 회원 수, 나이 합 / 최소 / 최대를 into 에 채운다. (QuerydslBasicTest.aggregation 과 같은 집계, 평균은 합 / 수)
+     * 호출하는 쪽이 AgeAggregate 를 재사용할 수 있다.
+     */
+    public AgeAggregate aggregate(MemberSearchCondition condition, AgeAggregate into) {
+        SQLQuery<?> query = searchQuery(
+                sqlQueryFactory.select(m.memberId.count(), m.age.sum(), m.age.min(), m.age.max()), condition);
+
+        // 회원이 없으면 sum / min / max 는 null -> 0
+        read("member.sql.aggregate", query, rs -> into.set(rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getInt(4)));
+        return into;
+    }
+
+    private <T> SQLQuery<T> searchQuery(SQLQuery<T> select, MemberSearchCondition condition) {
+        SQLQuery<T> query = select.from(m);
+
+        // 팀명 조건이 있을 때만 조인 (member -> team 은 N:1 이라 row 수가 같다)
+        if (hasText(condition.getTeamName())) {
+            query.join(m.teamFk, t);
+        }
+
+        return query.where(
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+        );
+    }
+
+    // InstrumentedJPAQuery 와 같은 지표 (querydsl.query, querydsl.query.rows)
+    private <T> List<T> fetch(String queryName, SQLQuery<T> query) {
+        long start = System.nanoTime();
+        List<T> result = query.fetch();
+        queryMetrics.record("select", queryName, QueryMetrics.entityOf(query.getMetadata()),
+                System.nanoTime() - start, result.size());
+        return result;
+    }
+
+    // ResultSet 을 직접 읽는다. (SQLQuery.fetch 는 row 마다 Tuple / 프로젝션 객체를 만든다)
+    private long read(String queryName, SQLQuery<?> query, RowReader reader) {
+        long start = System.nanoTime();
+        long rows = 0;
+        try (ResultSet rs = query.getResults()) {
+            while (rs.next()) {
+                reader.read(rs);
+                rows++;
+            }
+        } catch (SQLException e) {
+            throw sqlQueryFactory.getConfiguration().translate(e);
+        }
+        queryMetrics.record("select", queryName, QueryMetrics.entityOf(query.getMetadata()),
+                System.nanoTime() - start, rows);
+        return rows;
+    }
+
+    private BooleanExpression usernameEq(String username) {
+        return hasText(username) ? m.username.eq(username) : null;
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? t.name.eq(teamName) : null;
+    }
+
+    private BooleanExpression ageGoe(Integer ageGoe) {
+        return ageGoe != null ? m.age.goe(ageGoe) : null;
+    }
+
+    private BooleanExpression ageLoe(Integer ageLoe) {
+        return ageLoe != null ? m.age.loe(ageLoe) : null;
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        void read(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,22 @@
+package study.querydsl.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.FetchPlan;
+
+public interface TeamRepositoryCustom {
+
+    // members 로딩 전략을 호출하는 쪽에서 선택 (컬렉션이라 보통 BATCH 권장)
+    List<Team> findTeams(String teamName, FetchPlan fetchPlan);
+
+    // team.members 를 초기화하지 않고 필요한 만큼만 쿼리 (이미 초기화되어 있으면 메모리에서)
+    long countMembers(Team team);
+
+    boolean containsMember(Team team, Member member);
+
+    // 정렬 가능 속성: id, username, age (항상 id 로 동률 정리)
+    Slice<Member> findMembers(Team team, Pageable pageable);
+}
@@ -0,0 +1,139 @@
+package study.querydsl.repository;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.monitoring.QueryMetrics;
+import study.querydsl.repository.support.FetchPlan;
+import study.querydsl.repository.support.InMemoryEvaluator;
+
+@RequiredArgsConstructor
+public class TeamRepositoryImpl implements TeamRepositoryCustom {
+
+    private static final Map<String, ComparableExpressionBase<?>> MEMBER_SORT = Map.of(
+            "id", member.id,
+            "username", member.username,
+            "age", member.age);
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public List<Team> findTeams(String teamName, FetchPlan fetchPlan) {
+        JPAQuery<Team> query = queryFactory.selectFrom(team);
+        if (fetchPlan == FetchPlan.FETCH_JOIN) {
+            // 컬렉션 fetch join - 팀 중복은 하이버네이트 6 에서 자동으로 제거된다.
+            query.leftJoin(team.members, member).fetchJoin();
+        }
+
+        // BATCH: members 는 지연 로딩 그대로 -> 처음 접근할 때 @BatchSize 로 100 팀씩 in 쿼리
+        return fetchPlan.prepare(query, em, "Team.members", q -> q)
+                .where(teamNameEq(teamName))
+                .orderBy(team.id.asc())
+                .fetch();
+    }
+
+    @Override
+    public long countMembers(Team team) {
+        if (isLoaded(team)) {
+            return team.getMembers().size();
+        }
+        Long count = queryFactory
+                .select(member.count())
+                .from(member)
+                .where(member.team.id.eq(team.getId())) // team 조인 없이 FK 로 (idx_member_team_id)
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "team.countMembers")
+                .fetchOne();
+        return count != null ? count : 0L;
+    }
+
+    @Override
+    public boolean containsMember(Team team, Member candidate) {
+        if (isLoaded(team)) {
+            return team.getMembers().contains(candidate);
+        }
+        if (candidate.getId() == null) {
+            return false; // 아직 저장되지 않은 회원
+        }
+        return queryFactory
+                .selectOne()
+                .from(member)
+                .where(member.id.eq(candidate.getId()), member.team.id.eq(team.getId()))
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "team.containsMember")
+                .fetchFirst() != null;
+    }
+
+    @Override
+    public Slice<Member> findMembers(Team team, Pageable pageable) {
+        OrderSpecifier<?>[] orders = memberOrders(pageable.getSort());
+
+        if (isLoaded(team)) {
+            List<Member> sorted = InMemoryEvaluator.select(team.getMembers(), null, orders);
+            int from = (int) Math.min(pageable.getOffset(), sorted.size());
+            int to = Math.min(from + pageable.getPageSize(), sorted.size());
+            return new SliceImpl<>(new ArrayList<>(sorted.subList(from, to)), pageable, to < sorted.size());
+        }
+
+        List<Member> content = queryFactory
+                .selectFrom(member)
+                .where(member.team.id.eq(team.getId()))
+                .orderBy(orders)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1) // 한 건 더 읽어서 다음 페이지 존재 여부 판단 (count 쿼리 x)
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "team.findMembers")
+                .fetch();
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        if (hasNext) {
+            content = new ArrayList<>(content.subList(0, pageable.getPageSize()));
+        }
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    // 초기화된 컬렉션이거나 아직 저장 전인 팀 -> 쿼리 없이 메모리에서
+    private static boolean isLoaded(Team team) {
+        return team.getId() == null || Hibernate.isInitialized(team.getMembers());
+    }
+
+    private static OrderSpecifier<?>[] memberOrders(Sort sort) {
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            ComparableExpressionBase<?> path = MEMBER_SORT.get(order.getProperty());
+            if (path == null) {
+                throw new IllegalArgumentException("cannot sort members by " + order.getProperty());
+            }
+            OrderSpecifier<?> specifier = order.isAscending() ? path.asc() : path.desc();
+            orders.add(switch (order.getNullHandling()) {
+                case NULLS_FIRST -> specifier.nullsFirst();
+                case NULLS_LAST -> specifier.nullsLast();
+                case NATIVE -> specifier;
+            });
+        }
+        if (sort.getOrderFor("id") == null) {
+            orders.add(member.id.asc()); // 페이지 사이 순서가 흔들리지 않도록
+        }
+        return orders.toArray(OrderSpecifier[]::new);
+    }
+
+    private BooleanExpression teamNameEq(String teamName) {
+        return hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+}
@@ -0,0 +1,14 @@
+package study.querydsl.repository;
+
+import java.util.List;
+import study.querydsl.dto.AgeStatisticsDto;
+import study.querydsl.dto.TeamAgeDto;
+
+public interface TeamStatisticsRepositoryCustom {
+
+    // 전체 회원 수, 나이 합 / 평균 / 최소 / 최대 (aggregation 과 같은 결과, member 를 읽지 않는다)
+    AgeStatisticsDto totals();
+
+    // 팀별 평균 나이 (group 과 같은 결과, member 를 읽지 않는다)
+    List<TeamAgeDto> teamAverages();
+}
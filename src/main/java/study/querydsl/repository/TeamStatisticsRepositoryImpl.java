@@ -0,0 +1,51 @@
+package study.querydsl.repository;
+
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.entity.QTeamStatistics.teamStatistics;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import study.querydsl.dto.AgeStatisticsDto;
+import study.querydsl.dto.QTeamAgeDto;
+import study.querydsl.dto.TeamAgeDto;
+import study.querydsl.monitoring.QueryMetrics;
+
+@RequiredArgsConstructor
+public class TeamStatisticsRepositoryImpl implements TeamStatisticsRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public AgeStatisticsDto totals() {
+        Tuple tuple = queryFactory
+                .select(teamStatistics.memberCount.sum(),
+                        teamStatistics.ageSum.sum(),
+                        teamStatistics.ageMin.min(),
+                        teamStatistics.ageMax.max())
+                .from(teamStatistics)
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "teamStatistics.totals")
+                .fetchOne();
+
+        Long count = tuple.get(teamStatistics.memberCount.sum());
+        Long sum = tuple.get(teamStatistics.ageSum.sum());
+        if (count == null || count == 0) {
+            return new AgeStatisticsDto(0L, null, null, null, null);
+        }
+        return new AgeStatisticsDto(count, sum, (double) sum / count,
+                tuple.get(teamStatistics.ageMin.min()), tuple.get(teamStatistics.ageMax.max()));
+    }
+
+    @Override
+    public List<TeamAgeDto> teamAverages() {
+        return queryFactory
+                .select(new QTeamAgeDto(team.name,
+                        teamStatistics.ageSum.doubleValue().divide(teamStatistics.memberCount)))
+                .from(teamStatistics)
+                .join(team).on(team.id.eq(teamStatistics.teamId))
+                .where(teamStatistics.memberCount.gt(0))
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "teamStatistics.teamAverages")
+                .fetch();
+    }
+}
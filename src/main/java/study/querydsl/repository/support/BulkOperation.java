@@ -0,0 +1,46 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * 실행되는 Querydsl 벌크 연산 (update / delete, MemberUpsertService 의 upsert) 정보
+ * 벌크 연산은 엔티티 이벤트를 거치지 않으므로 BulkOperationListener 가 이 정보를 보고 직접 처리한다.
+ */
+@Getter
+public class BulkOperation {
+
+    // UPSERT: 조건에 맞는 행은 assignedPaths 를 갱신하고 없으면 새로 넣는다. (MERGE) -> 실행 후 where 에 걸리는 행이 늘 수 있다.
+    public enum Type {UPDATE, DELETE, UPSERT}
+
+    private final Type type;
+    private final EntityPath<?> root;
+    private final Predicate where; // null 이면 전체
+    private final Set<Path<?>> assignedPaths; // update 의 set 대상
+
+    // beforeBulk -> afterBulk 로 넘길 리스너별 상태
+    private final Map<Object, Object> attributes = new HashMap<>();
+
+    public BulkOperation(Type type, EntityPath<?> root, Predicate where, Set<Path<?>> assignedPaths) {
+        this.type = type;
+        this.root = root;
+        this.where = where;
+        this.assignedPaths = Collections.unmodifiableSet(assignedPaths);
+    }
+
+    public boolean isOn(Class<?> entityType) {
+        return entityType.equals(root.getType());
+    }
+
+    // path 는 root 별칭과 상관없이 속성 이름으로 비교 (member.username, m.username 모두 "username")
+    public boolean assigns(String propertyName) {
+        return assignedPaths.stream()
+                .anyMatch(path -> propertyName.equals(path.getMetadata().getName()));
+    }
+}
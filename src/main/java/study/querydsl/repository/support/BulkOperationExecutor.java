@@ -0,0 +1,121 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * 벌크 연산(update, delete) 후 영속성 컨텍스트 정리
+ * em.clear() 로 전부 날리지 않고, where 조건에 걸리는 "관리 중인" 엔티티만 refresh / detach 한다.
+ *
+ * 벌크 연산은 영속성 컨텍스트를 무시하고 DB에 바로 나가기 때문에 (QuerydslBasicTest.bulkUpdateWithNoFlush 참고)
+ * 실행 전에 관리 중인 엔티티 중 대상이 되는 id를 먼저 조회해 둔다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BulkOperationExecutor {
+
+    private static final int IN_CLAUSE_SIZE = 1_000;
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * @param where null 이면 전체
+     * @return 영향 받은 row 수
+     */
+    public long update(EntityPath<?> root, Predicate where, Consumer<JPAUpdateClause> assignments) {
+        List<Object> affected = findAffectedManaged(root, where);
+
+        JPAUpdateClause clause = queryFactory.update(root).where(where);
+        assignments.accept(clause);
+        long count = clause.execute();
+
+        for (Object entity : affected) {
+            em.refresh(entity); // DB 값으로 다시 읽어온다
+        }
+        evictSecondLevelCache(root.getType(), affected);
+        return count;
+    }
+
+    public long delete(EntityPath<?> root, Predicate where) {
+        List<Object> affected = findAffectedManaged(root, where);
+
+        long count = queryFactory.delete(root).where(where).execute();
+
+        for (Object entity : affected) {
+            em.detach(entity); // DB 에서 지워졌으므로 더 이상 관리하지 않는다
+        }
+        evictSecondLevelCache(root.getType(), affected);
+        return count;
+    }
+
+    // 관리 중인 엔티티 id 들로 범위를 좁혀서 조회 -> 테이블 전체가 아니라 영속성 컨텍스트 크기만큼만 읽는다.
+    private List<Object> findAffectedManaged(EntityPath<?> root, Predicate where) {
+        Map<Object, Object> managedById = managedEntities(root.getType());
+        if (managedById.isEmpty()) {
+            return List.of();
+        }
+
+        PathBuilder<Object> idPath = new PathBuilder<>(root.getType(), root.getMetadata())
+                .get(idAttributeName(root.getType()));
+
+        List<Object> ids = new ArrayList<>(managedById.keySet());
+        List<Object> affected = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += IN_CLAUSE_SIZE) {
+            List<Object> chunk = ids.subList(i, Math.min(i + IN_CLAUSE_SIZE, ids.size()));
+            List<Object> matched = queryFactory
+                    .select(idPath)
+                    .from(root)
+                    .where(where, idPath.in(chunk))
+                    .fetch();
+            for (Object id : matched) {
+                affected.add(managedById.get(id));
+            }
+        }
+        return affected;
+    }
+
+    private Map<Object, Object> managedEntities(Class<?> type) {
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+
+        Map<Object, Object> managed = new HashMap<>();
+        for (Map.Entry<Object, EntityEntry> entry : session.getPersistenceContextInternal().reentrantSafeEntityEntries()) {
+            if (type.isInstance(entry.getKey()) && entry.getValue().getStatus() == Status.MANAGED) {
+                managed.put(util.getIdentifier(entry.getKey()), entry.getKey());
+            }
+        }
+        return managed;
+    }
+
+    private <X> String idAttributeName(Class<X> type) {
+        EntityType<X> entityType = em.getMetamodel().entity(type);
+        return entityType.getId(entityType.getIdType().getJavaType()).getName();
+    }
+
+    // 하이버네이트도 벌크 연산 후 엔티티 region 을 정리하지만, 2차 캐시를 쓰는 경우를 위해 명시적으로 한 번 더
+    private void evictSecondLevelCache(Class<?> type, List<Object> affected) {
+        Cache cache = em.getEntityManagerFactory().getCache();
+        PersistenceUnitUtil util = em.getEntityManagerFactory().getPersistenceUnitUtil();
+        for (Object entity : affected) {
+            cache.evict(type, util.getIdentifier(entity));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package study.querydsl.repository.support;
+
+/**
+ * InstrumentedJPAQueryFactory 로 만든 update / delete 실행 전후 콜백
+ * 엔티티 리스너가 못 보는 벌크 변경을 캐시, 집계 테이블 등에 반영할 때 사용
+ */
+public interface BulkOperationListener {
+
+    default void beforeBulk(BulkOperation operation) {
+    }
+
+    default void afterBulk(BulkOperation operation, long affected) {
+    }
+}
@@ -0,0 +1,205 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.BulkJobCheckpoint;
+import study.querydsl.repository.BulkJobCheckpointRepository;
+
+/**
+ * 큰 벌크 update / delete 를 id 범위로 나눠서 청크마다 커밋한다. (bulkAdd, bulkDelete 를 테이블 전체에 한 번에 하지 않도록)
+ * -> 락을 잡는 시간과 undo 로그가 청크 크기만큼으로 제한된다.
+ *
+ * - 청크: (lastId, lastId + chunkSize] 범위의 id 에 where 를 더해서 실행, 청크마다 새 트랜잭션
+ * - 진행 상황: bulk_job_checkpoint 에 청크와 같은 트랜잭션으로 기록 -> 실패 후 같은 jobName 으로 다시 호출하면 이어서 처리
+ *   (완료된 jobName 으로 다시 호출하면 처음부터)
+ * - 같은 jobName 을 두 곳에서 동시에 실행해도: 청크 트랜잭션이 checkpoint 를 for update 로 잡고 lastId 를 확인한 뒤에 실행
+ *   -> 다른 쪽이 이미 처리한 청크는 건너뛴다.
+ * - 지표: querydsl.bulk.rows (처리 row 수), querydsl.bulk.chunk (청크 실행 시간), querydsl.bulk.progress (0 ~ 1)
+ *
+ * 청크마다 커밋하므로 바깥 트랜잭션 안에서 호출하지 않는다.
+ */
+@Slf4j
+@Component
+public class ChunkedBulkExecutor {
+
+    private final JPAQueryFactory queryFactory;
+    private final BulkJobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final MeterRegistry meterRegistry;
+    private final int defaultChunkSize;
+
+    // 진행률 gauge 가 보는 값 (jobName -> 마지막 checkpoint)
+    private final ConcurrentMap<String, AtomicReference<BulkJobCheckpoint>> progress = new ConcurrentHashMap<>();
+
+    public ChunkedBulkExecutor(JPAQueryFactory queryFactory,
+                               BulkJobCheckpointRepository checkpointRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${querydsl.bulk.chunk-size:10000}") int defaultChunkSize) {
+        this.queryFactory = queryFactory;
+        this.checkpointRepository = checkpointRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        this.defaultChunkSize = defaultChunkSize;
+    }
+
+    /**
+     * @param id    청크를 나눌 기준 (member.id)
+     * @param where null 이면 전체
+     * @return 이번 호출에서 영향 받은 row 수
+     */
+    public long update(String jobName, EntityPath<?> root, NumberPath<Long> id, Predicate where,
+                       Consumer<JPAUpdateClause> assignments) {
+        return update(jobName, root, id, where, defaultChunkSize, assignments);
+    }
+
+    public long update(String jobName, EntityPath<?> root, NumberPath<Long> id, Predicate where, int chunkSize,
+                       Consumer<JPAUpdateClause> assignments) {
+        return run(jobName, "update", root, id, where, chunkSize, range -> {
+            JPAUpdateClause clause = queryFactory.update(root).where(where, range);
+            assignments.accept(clause);
+            return clause.execute();
+        });
+    }
+
+    public long delete(String jobName, EntityPath<?> root, NumberPath<Long> id, Predicate where) {
+        return delete(jobName, root, id, where, defaultChunkSize);
+    }
+
+    public long delete(String jobName, EntityPath<?> root, NumberPath<Long> id, Predicate where, int chunkSize) {
+        return run(jobName, "delete", root, id, where, chunkSize,
+                range -> queryFactory.delete(root).where(where, range).execute());
+    }
+
+    private interface ChunkStatement {
+        long execute(Predicate range);
+    }
+
+    private long run(String jobName, String operation, EntityPath<?> root, NumberPath<Long> id, Predicate where,
+                     int chunkSize, ChunkStatement statement) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            log.warn("chunked bulk job {} called inside a transaction - each chunk still commits on its own", jobName);
+        }
+
+        BulkJobCheckpoint checkpoint = chunkTransaction.execute(status -> begin(jobName, root, id, where));
+        AtomicReference<BulkJobCheckpoint> current = progressOf(jobName, operation);
+        current.set(checkpoint);
+
+        Counter rows = Counter.builder("querydsl.bulk.rows")
+                .tag("job", jobName).tag("operation", operation)
+                .register(meterRegistry);
+        Timer chunkTimer = Timer.builder("querydsl.bulk.chunk")
+                .tag("job", jobName).tag("operation", operation)
+                .register(meterRegistry);
+
+        long affected = 0;
+        while (checkpoint.getStatus() != BulkJobCheckpoint.Status.COMPLETED) {
+            long from = checkpoint.getLastId();
+            long chunkStart = System.nanoTime();
+            Chunk chunk;
+            try {
+                // checkpoint 잠금 -> 확인 -> 청크 실행 -> checkpoint 갱신을 한 트랜잭션으로
+                // -> 다시 실행하거나 동시에 실행해도 같은 청크가 두 번 적용되지 않는다.
+                chunk = chunkTransaction.execute(status -> {
+                    BulkJobCheckpoint locked = checkpointRepository.findForUpdate(jobName).orElseThrow();
+                    if (locked.getLastId() != from || locked.getStatus() == BulkJobCheckpoint.Status.COMPLETED) {
+                        return new Chunk(locked, 0); // 다른 실행이 먼저 처리 -> 그 위치부터 이어서
+                    }
+                    long to = Math.min(from + chunkSize, locked.getMaxId());
+                    long chunkAffected = statement.execute(id.gt(from).and(id.loe(to)));
+                    locked.advance(to, chunkAffected);
+                    return new Chunk(locked, chunkAffected);
+                });
+            } catch (RuntimeException e) {
+                chunkTransaction.executeWithoutResult(status -> checkpointRepository.findById(jobName)
+                        .ifPresent(BulkJobCheckpoint::fail));
+                log.warn("chunked bulk job {} failed after id {} - call again with the same job name to resume", jobName, from);
+                throw e;
+            }
+            chunkTimer.record(System.nanoTime() - chunkStart, TimeUnit.NANOSECONDS);
+
+            checkpoint = chunk.checkpoint();
+            rows.increment(chunk.affected());
+            affected += chunk.affected();
+            current.set(checkpoint);
+            log.debug("chunked bulk job {}: id {} / {}, {} rows", jobName, checkpoint.getLastId(), checkpoint.getMaxId(), affected);
+        }
+
+        log.info("chunked bulk job {} completed: {} rows", jobName, affected);
+        return affected;
+    }
+
+    // 이어서 할 checkpoint 가 있으면 그대로, 없거나 완료된 작업이면 새로 (대상의 최소 / 최대 id 로 범위 고정)
+    private BulkJobCheckpoint begin(String jobName, EntityPath<?> root, NumberPath<Long> id, Predicate where) {
+        BulkJobCheckpoint existing = checkpointRepository.findById(jobName).orElse(null);
+        if (existing != null && existing.getStatus() != BulkJobCheckpoint.Status.COMPLETED) {
+            log.info("resuming chunked bulk job {} after id {}", jobName, existing.getLastId());
+            return existing;
+        }
+        if (existing != null) {
+            checkpointRepository.delete(existing);
+            checkpointRepository.flush();
+        }
+
+        Tuple range = queryFactory
+                .select(id.min(), id.max())
+                .from(root)
+                .where(where)
+                .fetchOne();
+        Long min = range == null ? null : range.get(id.min());
+        Long max = range == null ? null : range.get(id.max());
+        BulkJobCheckpoint checkpoint = min == null
+                ? new BulkJobCheckpoint(jobName, 0, 0)
+                : new BulkJobCheckpoint(jobName, min - 1, max);
+        if (min == null) {
+            checkpoint.advance(0, 0); // 대상 없음 -> 바로 완료
+        }
+        return checkpointRepository.save(checkpoint);
+    }
+
+    // 청크 트랜잭션 결과 (affected: 이번 실행이 바꾼 row 수, 건너뛴 청크면 0)
+    private record Chunk(BulkJobCheckpoint checkpoint, long affected) {
+    }
+
+    private AtomicReference<BulkJobCheckpoint> progressOf(String jobName, String operation) {
+        return progress.computeIfAbsent(jobName, name -> {
+            AtomicReference<BulkJobCheckpoint> ref = new AtomicReference<>();
+            Gauge.builder("querydsl.bulk.progress", ref, r -> ratio(r.get()))
+                    .tag("job", name).tag("operation", operation)
+                    .register(meterRegistry);
+            return ref;
+        });
+    }
+
+    private static double ratio(BulkJobCheckpoint checkpoint) {
+        if (checkpoint == null || checkpoint.getStatus() == BulkJobCheckpoint.Status.COMPLETED) {
+            return 1.0;
+        }
+        long total = checkpoint.getMaxId() - checkpoint.getFirstId();
+        return total <= 0 ? 0.0 : (double) (checkpoint.getLastId() - checkpoint.getFirstId()) / total;
+    }
+}
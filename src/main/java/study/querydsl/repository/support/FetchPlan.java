@@ -0,0 +1,55 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import org.hibernate.Hibernate;
+import org.hibernate.jpa.SpecHints;
+
+/**
+ * 연관관계 로딩 전략을 호출하는 곳에서 고른다.
+ *
+ * FETCH_JOIN   : 한 번의 쿼리. 컬렉션 fetch join 은 row 가 뻥튀기되고 페이징이 메모리에서 일어난다. -> to-one 에 사용
+ * BATCH        : 본 쿼리 + in 쿼리 (@BatchSize / default_batch_fetch_size 단위). 페이지가 크거나 컬렉션일 때 유리
+ *                to-one 은 조회 직후 초기화, 컬렉션은 지연 로딩 그대로 (처음 접근할 때 batch size 만큼 같이 로딩)
+ * ENTITY_GRAPH : JPA 엔티티 그래프 (fetchgraph 힌트). 쿼리는 그대로 두고 로딩 대상만 지정
+ * LAZY         : 아무것도 하지 않음 (접근할 때 로딩)
+ */
+public enum FetchPlan {
+    LAZY,
+    FETCH_JOIN,
+    BATCH,
+    ENTITY_GRAPH;
+
+    /**
+     * 조인 직후에 호출한다. (fetchJoin 은 마지막 조인에 적용되므로)
+     */
+    public <T> JPAQuery<T> prepare(JPAQuery<T> query, EntityManager em, String entityGraph,
+                                   UnaryOperator<JPAQuery<T>> fetchJoin) {
+        return switch (this) {
+            case FETCH_JOIN -> fetchJoin.apply(query);
+            case ENTITY_GRAPH -> query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(entityGraph));
+            case LAZY, BATCH -> query;
+        };
+    }
+
+    /**
+     * BATCH 는 조회 후 to-one 연관관계를 초기화한다. 첫 초기화에서 batch size 만큼 in 쿼리로 같이 로딩된다.
+     * 컬렉션은 넘기지 않는다. (쓰지 않을 수도 있는 컬렉션 전체를 미리 로딩하게 된다)
+     */
+    public <T> List<T> initialize(List<T> result, Function<T, ?> toOne) {
+        if (this == BATCH) {
+            for (T entity : result) {
+                Object association = toOne.apply(entity);
+                if (association instanceof Collection<?>) {
+                    throw new IllegalArgumentException("BATCH initializes to-one associations only");
+                }
+                Hibernate.initialize(association);
+            }
+        }
+        return result;
+    }
+}
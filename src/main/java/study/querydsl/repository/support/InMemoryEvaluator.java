@@ -0,0 +1,357 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathType;
+import com.querydsl.core.types.Predicate;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Querydsl where / order by 를 자바 코드로 컴파일해서 메모리에 있는 엔티티에 적용한다.
+ * DB 와 캐시 양쪽에 같은 조건(usernameEq, ageEq ...)을 쓰기 위한 용도
+ *
+ * - 지원: eq, ne, lt, loe, gt, goe, between, in, notIn, isNull, isNotNull, and, or, not,
+ *         eqIgnoreCase, startsWith, endsWith, contains, like / 정렬 asc, desc, nullsFirst, nullsLast
+ * - null 비교는 SQL 처럼 unknown(3값 논리) -> not(age = null) 도 false
+ * - 정렬 기본 null 순서는 H2 와 같다. (null 이 가장 작은 값 -> asc 면 앞, desc 면 뒤)
+ * - 경로는 엔티티 기준 탐색만 된다. join 별칭(team.name) 대신 member.team.name 으로 쓴다.
+ *
+ * 문자열 비교는 자바 compareTo 기준이라 DB collation 과 다를 수 있다. (lt, goe 등 범위 비교)
+ */
+public final class InMemoryEvaluator {
+
+    private InMemoryEvaluator() {
+    }
+
+    public static <T> java.util.function.Predicate<T> matcher(Predicate where) {
+        Condition condition = where == null ? root -> Boolean.TRUE : condition(where);
+        return candidate -> condition.test(candidate) == Boolean.TRUE;
+    }
+
+    public static <T> Comparator<T> comparator(OrderSpecifier<?>... orders) {
+        Comparator<Object> result = (a, b) -> 0;
+        for (OrderSpecifier<?> order : orders) {
+            Value value = value(order.getTarget());
+            boolean nullsFirst = switch (order.getNullHandling()) {
+                case NullsFirst -> true;
+                case NullsLast -> false;
+                case Default -> order.isAscending();
+            };
+            Comparator<Object> values = InMemoryEvaluator::compare;
+            if (!order.isAscending()) {
+                values = values.reversed();
+            }
+            values = nullsFirst ? Comparator.nullsFirst(values) : Comparator.nullsLast(values);
+            result = result.thenComparing(value::get, values);
+        }
+        @SuppressWarnings("unchecked")
+        Comparator<T> typed = (Comparator<T>) result;
+        return typed;
+    }
+
+    // selectFrom(...).where(where).orderBy(orders).fetch() 와 같은 결과
+    public static <T> List<T> select(Collection<? extends T> source, Predicate where, OrderSpecifier<?>... orders) {
+        java.util.function.Predicate<T> matcher = matcher(where);
+        List<T> result = new ArrayList<>();
+        for (T candidate : source) {
+            if (matcher.test(candidate)) {
+                result.add(candidate);
+            }
+        }
+        if (orders.length > 0) {
+            result.sort(comparator(orders));
+        }
+        return result;
+    }
+
+    // ---- 컴파일 ----
+
+    @FunctionalInterface
+    private interface Value {
+        Object get(Object root);
+    }
+
+    // TRUE / FALSE / null(unknown)
+    @FunctionalInterface
+    private interface Condition {
+        Boolean test(Object root);
+    }
+
+    private static Condition condition(Expression<?> expression) {
+        if (expression instanceof BooleanBuilder builder) {
+            return builder.getValue() == null ? root -> Boolean.TRUE : condition(builder.getValue());
+        }
+        if (!(expression instanceof Operation<?> operation)) {
+            Value value = value(expression); // boolean 속성, 상수
+            return root -> (Boolean) value.get(root);
+        }
+
+        Operator op = operation.getOperator();
+        List<Expression<?>> args = operation.getArgs();
+        if (op == Ops.AND) {
+            Condition left = condition(args.get(0));
+            Condition right = condition(args.get(1));
+            return root -> and(left.test(root), right.test(root));
+        }
+        if (op == Ops.OR) {
+            Condition left = condition(args.get(0));
+            Condition right = condition(args.get(1));
+            return root -> or(left.test(root), right.test(root));
+        }
+        if (op == Ops.NOT) {
+            Condition inner = condition(args.get(0));
+            return root -> {
+                Boolean result = inner.test(root);
+                return result == null ? null : !result;
+            };
+        }
+        if (op == Ops.IS_NULL || op == Ops.IS_NOT_NULL) {
+            Value value = value(args.get(0));
+            boolean expectNull = op == Ops.IS_NULL;
+            return root -> (value.get(root) == null) == expectNull;
+        }
+        if (op == Ops.IN || op == Ops.NOT_IN) {
+            return in(value(args.get(0)), args.get(1), op == Ops.IN);
+        }
+        if (op == Ops.BETWEEN) {
+            Value value = value(args.get(0));
+            Value low = value(args.get(1));
+            Value high = value(args.get(2));
+            return root -> {
+                Object v = value.get(root);
+                Object l = low.get(root);
+                Object h = high.get(root);
+                if (v == null || l == null || h == null) {
+                    return null;
+                }
+                return compare(v, l) >= 0 && compare(v, h) <= 0;
+            };
+        }
+        if (op == Ops.LIKE) {
+            return string(args, pattern -> likeToRegex(pattern, '\\'));
+        }
+        if (op == Ops.LIKE_ESCAPE) {
+            char escape = (Character) ((Constant<?>) args.get(2)).getConstant();
+            return string(args, pattern -> likeToRegex(pattern, escape));
+        }
+        if (op == Ops.STARTS_WITH) {
+            return string(args, prefix -> Pattern.compile(Pattern.quote(prefix) + ".*", Pattern.DOTALL));
+        }
+        if (op == Ops.ENDS_WITH) {
+            return string(args, suffix -> Pattern.compile(".*" + Pattern.quote(suffix), Pattern.DOTALL));
+        }
+        if (op == Ops.STRING_CONTAINS) {
+            return string(args, part -> Pattern.compile(".*" + Pattern.quote(part) + ".*", Pattern.DOTALL));
+        }
+        if (op == Ops.EQ_IGNORE_CASE) {
+            Value left = value(args.get(0));
+            Value right = value(args.get(1));
+            return root -> {
+                Object l = left.get(root);
+                Object r = right.get(root);
+                return l == null || r == null ? null : l.toString().equalsIgnoreCase(r.toString());
+            };
+        }
+
+        Comparison comparison = Comparison.of(op);
+        if (comparison == null) {
+            throw new UnsupportedOperationException("not supported in memory: " + op + " (" + expression + ")");
+        }
+        Value left = value(args.get(0));
+        Value right = value(args.get(1));
+        return root -> {
+            Object l = left.get(root);
+            Object r = right.get(root);
+            if (l == null || r == null) {
+                return null;
+            }
+            return comparison.matches(l, r);
+        };
+    }
+
+    private static Value value(Expression<?> expression) {
+        if (expression instanceof Constant<?> constant) {
+            Object value = constant.getConstant();
+            return root -> value;
+        }
+        if (expression instanceof Path<?> path) {
+            return path(path);
+        }
+        throw new UnsupportedOperationException("not supported in memory: " + expression);
+    }
+
+    // member.team.name -> getTeam().getName() (중간에 null 이면 null)
+    private static Value path(Path<?> path) {
+        Path<?> parent = path.getMetadata().getParent();
+        if (parent == null) {
+            return root -> root; // member1 (루트 변수)
+        }
+        if (path.getMetadata().getPathType() != PathType.PROPERTY) {
+            throw new UnsupportedOperationException("not supported in memory: " + path);
+        }
+        Value owner = path(parent);
+        Method getter = getter(parent.getType(), path.getMetadata().getName());
+        return root -> {
+            Object target = owner.get(root);
+            if (target == null) {
+                return null;
+            }
+            try {
+                return getter.invoke(target); // 프록시여도 getter 는 초기화 후 값을 준다.
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("cannot read " + path, e);
+            }
+        };
+    }
+
+    private static Method getter(Class<?> type, String property) {
+        String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        for (String name : new String[]{"get" + suffix, "is" + suffix}) {
+            try {
+                return type.getMethod(name);
+            } catch (NoSuchMethodException ignored) {
+                // 다음 이름
+            }
+        }
+        throw new UnsupportedOperationException("no getter for " + type.getSimpleName() + "." + property);
+    }
+
+    private static Condition in(Value value, Expression<?> right, boolean in) {
+        if (!(right instanceof Constant<?> constant) || !(constant.getConstant() instanceof Collection<?> values)) {
+            throw new UnsupportedOperationException("in() supports constant collections only: " + right);
+        }
+        Set<Object> candidates = new HashSet<>();
+        for (Object v : values) {
+            candidates.add(normalize(v));
+        }
+        return root -> {
+            Object v = value.get(root);
+            if (v == null) {
+                return null;
+            }
+            return candidates.contains(normalize(v)) == in;
+        };
+    }
+
+    private static Condition string(List<Expression<?>> args, java.util.function.Function<String, Pattern> compiler) {
+        Value value = value(args.get(0));
+        if (!(args.get(1) instanceof Constant<?> constant)) {
+            throw new UnsupportedOperationException("pattern must be a constant: " + args.get(1));
+        }
+        Pattern pattern = compiler.apply(constant.getConstant().toString());
+        return root -> {
+            Object v = value.get(root);
+            return v == null ? null : pattern.matcher(v.toString()).matches();
+        };
+    }
+
+    private static Pattern likeToRegex(String like, char escape) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < like.length(); i++) {
+            char c = like.charAt(i);
+            if (c == escape && i + 1 < like.length()) {
+                regex.append(Pattern.quote(String.valueOf(like.charAt(++i))));
+            } else if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private enum Comparison {
+        EQ, NE, LT, LOE, GT, GOE;
+
+        static Comparison of(Operator op) {
+            if (op == Ops.EQ) return EQ;
+            if (op == Ops.NE) return NE;
+            if (op == Ops.LT) return LT;
+            if (op == Ops.LOE) return LOE;
+            if (op == Ops.GT) return GT;
+            if (op == Ops.GOE) return GOE;
+            return null;
+        }
+
+        boolean matches(Object left, Object right) {
+            if (this == EQ || this == NE) {
+                boolean equal = !(left instanceof Comparable<?>) ? left.equals(right) : compare(left, right) == 0;
+                return equal == (this == EQ);
+            }
+            int result = compare(left, right);
+            return switch (this) {
+                case LT -> result < 0;
+                case LOE -> result <= 0;
+                case GT -> result > 0;
+                default -> result >= 0;
+            };
+        }
+    }
+
+    // ---- 값 비교 (Integer 와 Long 처럼 타입이 달라도 숫자로 비교) ----
+
+    private static Boolean and(Boolean left, Boolean right) {
+        if (left == Boolean.FALSE || right == Boolean.FALSE) {
+            return false;
+        }
+        return left == null || right == null ? null : true;
+    }
+
+    private static Boolean or(Boolean left, Boolean right) {
+        if (left == Boolean.TRUE || right == Boolean.TRUE) {
+            return true;
+        }
+        return left == null || right == null ? null : false;
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros();
+        }
+        if (value instanceof Double || value instanceof Float || value instanceof BigInteger) {
+            return new BigDecimal(value.toString()).stripTrailingZeros();
+        }
+        return value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Object left, Object right) {
+        Object l = normalize(left);
+        Object r = normalize(right);
+        if (l instanceof Long a && r instanceof Long b) {
+            return Long.compare(a, b);
+        }
+        if (l instanceof Number && r instanceof Number) {
+            return toBigDecimal(l).compareTo(toBigDecimal(r));
+        }
+        if (l instanceof Comparable comparable && l.getClass() == r.getClass()) {
+            return comparable.compareTo(r);
+        }
+        throw new IllegalArgumentException("cannot compare " + left + " with " + right);
+    }
+
+    private static BigDecimal toBigDecimal(Object number) {
+        return number instanceof BigDecimal decimal ? decimal : BigDecimal.valueOf(((Number) number).longValue());
+    }
+}
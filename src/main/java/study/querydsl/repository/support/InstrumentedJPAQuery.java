@@ -0,0 +1,99 @@
+package study.querydsl.repository.support;
+
+import com.mysema.commons.lang.CloseableIterator;
+import com.mysema.commons.lang.IteratorAdapter;
+import com.querydsl.core.NonUniqueResultException;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Stream;
+import study.querydsl.monitoring.IndexAdvisor;
+import study.querydsl.monitoring.QueryMetrics;
+
+/**
+ * fetch(), fetchOne(), stream(), iterate() 실행 시간과 row 수를 기록하는 JPAQuery
+ * select(), from() 등은 같은 인스턴스를 반환하므로 체이닝해도 계측이 유지된다. (clone() 한 쿼리도 계측)
+ *
+ * stream(), iterate() 는 close 할 때 기록한다. -> 시간에 결과를 소비하는 시간도 들어간다. (close 하지 않으면 기록 x)
+ */
+public class InstrumentedJPAQuery<T> extends JPAQuery<T> {
+
+    private final QueryMetrics metrics;
+    private final IndexAdvisor indexAdvisor;
+    private String queryName = QueryMetrics.UNNAMED;
+
+    public InstrumentedJPAQuery(EntityManager em, QueryMetrics metrics, IndexAdvisor indexAdvisor) {
+        super(em);
+        this.metrics = metrics;
+        this.indexAdvisor = indexAdvisor;
+    }
+
+    private InstrumentedJPAQuery(EntityManager em, JPQLTemplates templates, QueryMetadata metadata,
+                                 QueryMetrics metrics, IndexAdvisor indexAdvisor) {
+        super(em, templates, metadata);
+        this.metrics = metrics;
+        this.indexAdvisor = indexAdvisor;
+    }
+
+    // 쿼리 이름 힌트는 JPA 로 넘기지 않고 여기서 가져간다.
+    @Override
+    public JPAQuery<T> setHint(String name, Object value) {
+        if (QueryMetrics.QUERY_NAME_HINT.equals(name)) {
+            this.queryName = String.valueOf(value);
+            return this;
+        }
+        return super.setHint(name, value);
+    }
+
+    @Override
+    public List<T> fetch() {
+        indexAdvisor.inspect(getMetadata());
+        long start = System.nanoTime();
+        List<T> result = super.fetch();
+        record(start, result.size());
+        return result;
+    }
+
+    @Override
+    public T fetchOne() throws NonUniqueResultException {
+        indexAdvisor.inspect(getMetadata());
+        long start = System.nanoTime();
+        T result = super.fetchOne();
+        record(start, result == null ? 0 : 1);
+        return result;
+    }
+
+    // JPA 결과 스트림은 순차 스트림 -> row 수는 배열 하나로 센다.
+    @Override
+    public Stream<T> stream() {
+        indexAdvisor.inspect(getMetadata());
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        return super.stream()
+                .peek(row -> rows[0]++)
+                .onClose(() -> record(start, rows[0]));
+    }
+
+    // 부모의 iterate() 는 하이버네이트 6 에 없는 ScrollableResults.get(int) 를 호출한다. -> stream() 위에서 (close 도 stream 으로)
+    @Override
+    public CloseableIterator<T> iterate() {
+        Stream<T> stream = stream();
+        return new IteratorAdapter<>(stream.iterator(), stream::close);
+    }
+
+    // clone() / clone(em) 도 여기로 온다. -> 복사본도 계측, 쿼리 이름 유지
+    @Override
+    public InstrumentedJPAQuery<T> clone(EntityManager entityManager, JPQLTemplates templates) {
+        InstrumentedJPAQuery<T> query = new InstrumentedJPAQuery<>(entityManager, templates, getMetadata().clone(),
+                metrics, indexAdvisor);
+        query.clone(this);
+        query.queryName = queryName;
+        return query;
+    }
+
+    private void record(long start, long rows) {
+        metrics.record("select", queryName, QueryMetrics.entityOf(getMetadata()), System.nanoTime() - start, rows);
+    }
+}
@@ -0,0 +1,168 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
+import study.querydsl.monitoring.IndexAdvisor;
+import study.querydsl.monitoring.QueryMetrics;
+
+/**
+ * 모든 select / update / delete 를 계측하는 JPAQueryFactory
+ * select 의 쿼리 이름은 QueryMetrics.QUERY_NAME_HINT 힌트로, update / delete 는 호출한 메서드 이름으로 태깅한다.
+ * select 의 where / order by 는 IndexAdvisor 로 넘겨 인덱스 누락을 확인한다.
+ * update / delete 는 실행 전후로 BulkOperationListener 를 호출한다.
+ */
+public class InstrumentedJPAQueryFactory extends JPAQueryFactory {
+
+    private final EntityManager em;
+    private final QueryMetrics metrics;
+    private final IndexAdvisor indexAdvisor;
+    private final ObjectProvider<BulkOperationListener> bulkListeners;
+
+    public InstrumentedJPAQueryFactory(EntityManager em, QueryMetrics metrics, IndexAdvisor indexAdvisor,
+                                       ObjectProvider<BulkOperationListener> bulkListeners) {
+        super(em);
+        this.em = em;
+        this.metrics = metrics;
+        this.indexAdvisor = indexAdvisor;
+        this.bulkListeners = bulkListeners;
+    }
+
+    @Override
+    public JPAQuery<?> query() {
+        return new InstrumentedJPAQuery<Void>(em, metrics, indexAdvisor);
+    }
+
+    @Override
+    public JPAUpdateClause update(EntityPath<?> path) {
+        return new InstrumentedUpdateClause(path);
+    }
+
+    @Override
+    public JPADeleteClause delete(EntityPath<?> path) {
+        return new InstrumentedDeleteClause(path);
+    }
+
+    private long execute(BulkOperation operation, BulkStatement statement) {
+        List<BulkOperationListener> listeners = bulkListeners.orderedStream().toList();
+        for (BulkOperationListener listener : listeners) {
+            listener.beforeBulk(operation);
+        }
+
+        long start = System.nanoTime();
+        long affected = statement.execute();
+        metrics.record(operation.getType().name().toLowerCase(), callerName(),
+                operation.getRoot().getClass().getSimpleName(), System.nanoTime() - start, affected);
+
+        for (BulkOperationListener listener : listeners) {
+            listener.afterBulk(operation, affected);
+        }
+        return affected;
+    }
+
+    private interface BulkStatement {
+        long execute();
+    }
+
+    // where, set 대상을 기억해 두었다가 BulkOperation 으로 넘긴다.
+    private class InstrumentedUpdateClause extends JPAUpdateClause {
+
+        private final EntityPath<?> root;
+        private final BooleanBuilder where = new BooleanBuilder();
+        private final Set<Path<?>> assigned = new HashSet<>();
+
+        InstrumentedUpdateClause(EntityPath<?> root) {
+            super(em, root);
+            this.root = root;
+        }
+
+        @Override
+        public <T> JPAUpdateClause set(Path<T> path, T value) {
+            assigned.add(path);
+            return super.set(path, value);
+        }
+
+        @Override
+        public <T> JPAUpdateClause set(Path<T> path, Expression<? extends T> expression) {
+            assigned.add(path);
+            return super.set(path, expression);
+        }
+
+        @Override
+        public <T> JPAUpdateClause setNull(Path<T> path) {
+            assigned.add(path);
+            return super.setNull(path);
+        }
+
+        @Override
+        public JPAUpdateClause set(List<? extends Path<?>> paths, List<?> values) {
+            assigned.addAll(paths);
+            return super.set(paths, values);
+        }
+
+        @Override
+        public JPAUpdateClause where(Predicate... o) {
+            for (Predicate predicate : o) {
+                where.and(predicate);
+            }
+            return super.where(o);
+        }
+
+        @Override
+        public long execute() {
+            BulkOperation operation = new BulkOperation(BulkOperation.Type.UPDATE, root, where.getValue(), assigned);
+            return InstrumentedJPAQueryFactory.this.execute(operation, super::execute);
+        }
+    }
+
+    private class InstrumentedDeleteClause extends JPADeleteClause {
+
+        private final EntityPath<?> root;
+        private final BooleanBuilder where = new BooleanBuilder();
+
+        InstrumentedDeleteClause(EntityPath<?> root) {
+            super(em, root);
+            this.root = root;
+        }
+
+        @Override
+        public JPADeleteClause where(Predicate... o) {
+            for (Predicate predicate : o) {
+                where.and(predicate);
+            }
+            return super.where(o);
+        }
+
+        @Override
+        public long execute() {
+            BulkOperation operation = new BulkOperation(BulkOperation.Type.DELETE, root, where.getValue(), Set.of());
+            return InstrumentedJPAQueryFactory.this.execute(operation, super::execute);
+        }
+    }
+
+    // 벌크 연산은 드물어서 스택을 보는 비용(수 µs)이 문제되지 않는다.
+    private static String callerName() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith("study.querydsl"))
+                .filter(f -> !f.getClassName().startsWith(InstrumentedJPAQueryFactory.class.getName()))
+                .filter(f -> !f.getClassName().startsWith("study.querydsl.repository.support.BulkOperationExecutor"))
+                .findFirst()
+                .map(f -> simpleName(f.getClassName()) + "." + f.getMethodName())
+                .orElse(QueryMetrics.UNNAMED));
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,154 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 서로 독립적인 쿼리(content + count, 집계, 팀 조회 ...)를 동시에 실행한다. -> 응답 시간 ~ 가장 느린 쿼리
+ * 각 쿼리는 자기 스레드에서 새 readOnly 트랜잭션(= 새 EntityManager)으로 실행된다.
+ *
+ * 사용법 (StructuredTaskScope.ShutdownOnFailure 와 같은 모양)
+ * try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+ *     Supplier<A> a = scope.fork(query -> ...);
+ *     Supplier<B> b = scope.fork(query -> ...);
+ *     scope.join();          // 하나라도 실패하면 나머지를 취소하고 예외
+ *     return new Result(a.get(), b.get());
+ * }
+ */
+@Component
+public class ParallelQueryExecutor {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ExecutorService executor;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ParallelQueryExecutor(JPAQueryFactory queryFactory,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${querydsl.fan-out.max-threads:8}") int maxThreads) {
+        this.executor = newExecutor(maxThreads);
+        this.queryFactory = queryFactory;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // 풀이 가득 차서 호출 스레드에서 실행되더라도 바깥 트랜잭션과 섞이지 않게
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 스레드마다 커넥션을 하나씩 잡으므로 커넥션 풀(hikari maximum-pool-size)보다 작게 둔다.
+     * 가득 차면 호출 스레드에서 실행한다. (Java 21 이면 Executors.newVirtualThreadPerTaskExecutor() 로 교체 가능)
+     * 스프링 빈으로 등록하지 않는다. -> Executor 빈이 있으면 부트의 applicationTaskExecutor(MVC 비동기) 가 빠진다.
+     */
+    private static ExecutorService newExecutor(int maxThreads) {
+        AtomicInteger sequence = new AtomicInteger();
+        return new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "query-fan-out-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final ExecutorCompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+        private final List<Future<Object>> futures = new ArrayList<>();
+        private boolean joined;
+
+        private Scope() {
+        }
+
+        public <T> Supplier<T> fork(Function<JPAQueryFactory, T> query) {
+            if (joined) {
+                throw new IllegalStateException("already joined");
+            }
+            Future<Object> future = completion.submit(() -> readOnlyTransaction.execute(status -> query.apply(queryFactory)));
+            futures.add(future);
+            return () -> result(future);
+        }
+
+        public void join() {
+            join(DEFAULT_TIMEOUT);
+        }
+
+        // 모두 끝날 때까지 기다린다. 먼저 실패한 쿼리가 있으면 나머지는 취소
+        public void join(Duration timeout) {
+            joined = true;
+            long deadline = System.nanoTime() + timeout.toNanos();
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    Future<Object> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (done == null) {
+                        throw new IllegalStateException("queries did not complete within " + timeout);
+                    }
+                    done.get();
+                }
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for queries", e);
+            } catch (ExecutionException e) {
+                cancelAll();
+                throw e.getCause() instanceof RuntimeException runtime
+                        ? runtime
+                        : new IllegalStateException(e.getCause());
+            } catch (RuntimeException e) {
+                cancelAll();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            for (Future<Object> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T result(Future<Object> future) {
+            if (!joined || !future.isDone()) {
+                throw new IllegalStateException("join() first");
+            }
+            try {
+                return (T) future.get();
+            } catch (InterruptedException | ExecutionException | CancellationException e) {
+                throw new IllegalStateException("subtask did not complete successfully", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAProvider;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.querydsl.monitoring.QueryMetrics;
+
+/**
+ * 동적 쿼리의 "모양"(어떤 조건이 있고 없는지) 별로 직렬화된 JPQL 을 캐시한다.
+ * 조건 값은 Param 으로 넣어서 JPQL 문자열은 모양이 같으면 항상 같다.
+ * -> Querydsl 직렬화를 생략하고, 하이버네이트도 같은 문자열이라 쿼리 plan 캐시를 그대로 쓴다.
+ *
+ * 주의: 쿼리 빌더(Supplier)는 params 에 어떤 Param 이 들어있는지만 보고 쿼리를 조립해야 한다. (값을 보면 안 됨)
+ * hint, lock mode 는 지원하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryShapeCache {
+
+    private final EntityManager em;
+    private final QueryMetrics queryMetrics;
+    private final ConcurrentMap<String, CachedQuery> cache = new ConcurrentHashMap<>();
+
+    /**
+     * @param queryName 쿼리 이름 (캐시 키의 일부)
+     * @param params    이번 호출에 들어가는 조건 값 (없는 조건은 넣지 않는다)
+     * @param query     캐시에 없을 때만 호출된다.
+     */
+    public <T> List<T> fetch(String queryName, Map<ParamExpression<?>, Object> params, Supplier<JPAQuery<T>> query) {
+        CachedQuery cached = cache.computeIfAbsent(shapeKey(queryName, params), key -> serialize(query.get()));
+
+        long start = System.nanoTime();
+        List<T> result = cached.fetch(em, params);
+        queryMetrics.record("select", queryName, cached.entity, System.nanoTime() - start, result.size());
+        return result;
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private String shapeKey(String queryName, Map<ParamExpression<?>, Object> params) {
+        TreeSet<String> names = new TreeSet<>();
+        for (ParamExpression<?> param : params.keySet()) {
+            names.add(param.getName());
+        }
+        return queryName + names;
+    }
+
+    private CachedQuery serialize(JPAQuery<?> query) {
+        JPQLSerializer serializer = new JPQLSerializer(JPAProvider.getTemplates(em), em);
+        serializer.serialize(query.getMetadata(), false, null);
+        return new CachedQuery(
+                serializer.toString(),
+                new ArrayList<>(serializer.getConstants()),
+                query.getMetadata().getModifiers(),
+                query.getMetadata().getProjection(),
+                QueryMetrics.entityOf(query.getMetadata()));
+    }
+
+    private static final class CachedQuery {
+
+        private final String jpql;
+        private final List<Object> constants; // 리터럴 상수 + Param (위치 순서대로)
+        private final QueryModifiers modifiers;
+        private final FactoryExpression<?> factoryExpression; // DTO, Tuple 프로젝션이면 결과 변환
+        private final String entity;
+
+        private CachedQuery(String jpql, List<Object> constants, QueryModifiers modifiers, Expression<?> projection,
+                            String entity) {
+            this.jpql = jpql;
+            this.entity = entity;
+            this.constants = constants;
+            this.modifiers = modifiers;
+            this.factoryExpression = projection instanceof FactoryExpression ? (FactoryExpression<?>) projection : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> List<T> fetch(EntityManager em, Map<ParamExpression<?>, Object> params) {
+            Query query = em.createQuery(jpql);
+            JPAUtil.setConstants(query, constants, params);
+            if (modifiers != null && modifiers.getOffsetAsInteger() != null) {
+                query.setFirstResult(modifiers.getOffsetAsInteger());
+            }
+            if (modifiers != null && modifiers.getLimitAsInteger() != null) {
+                query.setMaxResults(modifiers.getLimitAsInteger());
+            }
+
+            List<?> rows = query.getResultList();
+            if (factoryExpression == null) {
+                return (List<T>) rows;
+            }
+            List<T> result = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                Object[] args = row instanceof Object[] ? (Object[]) row : new Object[]{row};
+                result.add((T) factoryExpression.newInstance(args));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+
+/**
+ * fetchResults() / fetchCount() 대체 (Querydsl 5에서 deprecated)
+ * content 쿼리와 count 쿼리를 따로 받는다. -> count 쿼리는 fetch join, order by 없이 최소한으로 작성
+ */
+public final class QuerydslPaging {
+
+    private QuerydslPaging() {
+    }
+
+    public static <T> Page<T> page(JPAQuery<T> contentQuery, Pageable pageable, JPAQuery<Long> countQuery) {
+        List<T> content = contentQuery
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        // 첫 페이지인데 content가 pageSize보다 작거나, 마지막 페이지면 count 쿼리를 생략한다.
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            Long total = countQuery.fetchOne();
+            return total != null ? total : 0L;
+        });
+    }
+}
@@ -0,0 +1,345 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.TeamStatistics;
+
+/**
+ * team_statistics 를 member 변경분만큼 갱신한다. (매번 group by 로 다시 계산하지 않도록)
+ *
+ * - persist / 변경감지 / remove : 하이버네이트 post insert / update / delete 이벤트에서 팀별 변경분을 모아 두었다가
+ *   flush 가 끝나면 같은 커넥션(같은 트랜잭션)으로 반영한다. -> 롤백하면 통계도 같이 롤백
+ * - Querydsl 벌크 update / delete : 이벤트가 없으므로 실행 전에 대상 팀을 조회해 두고, 실행 후 그 팀들만 다시 계산
+ *
+ * 최소 / 최대는 합산이 안 되므로 현재 최소(최대)값이 빠져나간 팀만 member 테이블에서 다시 구한다. (idx_member_team_id)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamStatisticsMaintainer implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener, FlushEventListener, AutoFlushEventListener, BulkOperationListener {
+
+    private static final String INCREMENT = "update team_statistics set member_count = member_count + ?, age_sum = age_sum + ?,"
+            + " age_min = least(coalesce(age_min, ?), ?), age_max = greatest(coalesce(age_max, ?), ?) where team_id = ?";
+    private static final String RECOMPUTE_EXTREMES = "update team_statistics"
+            + " set age_min = (select min(age) from member where %1$s), age_max = (select max(age) from member where %1$s)"
+            + " where team_id = ? and (age_min >= ? or age_max <= ?)";
+    // delete + insert 는 같은 팀을 동시에 다시 계산하면 PK 가 겹친다. -> 행이 있으면 update, 없으면 insert 한 문장으로
+    private static final String MERGE_FROM_MEMBER = "merge into team_statistics (team_id, member_count, age_sum, age_min, age_max)"
+            + " key (team_id) select ?, count(*), coalesce(sum(age), 0), min(age), max(age) from member where %s";
+    private static final String REBUILD = "merge into team_statistics (team_id, member_count, age_sum, age_min, age_max)"
+            + " key (team_id) select coalesce(team_id, " + TeamStatistics.NO_TEAM + "), count(*), sum(age), min(age), max(age)"
+            + " from member group by coalesce(team_id, " + TeamStatistics.NO_TEAM + ")";
+    private static final String DELETE_EMPTY = "delete from team_statistics"
+            + " where team_id not in (select coalesce(team_id, " + TeamStatistics.NO_TEAM + ") from member)";
+
+    // 없는 행을 두 트랜잭션이 동시에 merge 하면 늦은 쪽이 실패한다. (H2: 90131 동시 갱신, 그 외 DB: 23505 중복 키)
+    // 다시 실행하면 먼저 들어간 행을 update 한다.
+    private static final int CONCURRENT_UPDATE = 90131;
+    private static final String DUPLICATE_KEY = "23505";
+    private static final int MERGE_ATTEMPTS = 3;
+
+    private static final String TEAM_IDS = TeamStatisticsMaintainer.class.getName() + ".teamIds";
+
+    private final EntityManagerFactory emf;
+    private final EntityManager em;
+
+    // 세션별 아직 반영하지 않은 변경분 (세션이 닫히면 같이 사라진다)
+    private final Map<SharedSessionContractImplementor, Map<Long, Delta>> pending =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.FLUSH, this); // 기본 flush 리스너 다음에 실행된다.
+        registry.appendListeners(EventType.AUTO_FLUSH, this);
+    }
+
+    // 이미 들어 있는 데이터 기준으로 처음부터 다시 계산
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        em.unwrap(Session.class).doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                int teams = statement.executeUpdate(REBUILD);
+                statement.executeUpdate(DELETE_EMPTY);
+                log.info("team_statistics rebuilt for {} teams", teams);
+            }
+        });
+    }
+
+    // ---- 엔티티 이벤트 ----
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            EntityPersister persister = event.getPersister();
+            deltas(event.getSession()).computeIfAbsent(teamId(persister, event.getState()), Delta::new)
+                    .add(age(persister, event.getState()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        Map<Long, Delta> deltas = deltas(event.getSession());
+        if (oldState == null) {
+            // 이전 값을 모르면 (detached 엔티티 update 등) 현재 팀을 통째로 다시 계산
+            deltas.computeIfAbsent(teamId(persister, state), Delta::new).recompute = true;
+            return;
+        }
+
+        Long oldTeamId = teamId(persister, oldState);
+        Long newTeamId = teamId(persister, state);
+        int oldAge = age(persister, oldState);
+        int newAge = age(persister, state);
+        if (oldTeamId.equals(newTeamId) && oldAge == newAge) {
+            return; // username 만 바뀐 경우
+        }
+        deltas.computeIfAbsent(oldTeamId, Delta::new).remove(oldAge);
+        deltas.computeIfAbsent(newTeamId, Delta::new).add(newAge);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            EntityPersister persister = event.getPersister();
+            deltas(event.getSession()).computeIfAbsent(teamId(persister, event.getDeletedState()), Delta::new)
+                    .remove(age(persister, event.getDeletedState()));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) {
+        apply(event.getSession());
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        apply(event.getSession());
+    }
+
+    private Map<Long, Delta> deltas(SharedSessionContractImplementor session) {
+        return pending.computeIfAbsent(session, s -> new HashMap<>());
+    }
+
+    private void apply(SharedSessionContractImplementor session) {
+        Map<Long, Delta> deltas = pending.remove(session);
+        if (deltas == null || deltas.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            for (Delta delta : deltas.values()) {
+                apply(connection, delta);
+            }
+        });
+    }
+
+    private void apply(Connection connection, Delta delta) throws SQLException {
+        if (delta.recompute) {
+            recompute(connection, delta.teamId);
+            return;
+        }
+        if (delta.count != 0 || delta.sum != 0 || delta.addedMin != null) {
+            try (PreparedStatement ps = connection.prepareStatement(INCREMENT)) {
+                int low = delta.addedMin == null ? Integer.MAX_VALUE : delta.addedMin;
+                int high = delta.addedMax == null ? Integer.MIN_VALUE : delta.addedMax;
+                ps.setLong(1, delta.count);
+                ps.setLong(2, delta.sum);
+                ps.setInt(3, low);
+                ps.setInt(4, low);
+                ps.setInt(5, high);
+                ps.setInt(6, high);
+                ps.setLong(7, delta.teamId);
+                if (ps.executeUpdate() == 0) {
+                    recompute(connection, delta.teamId); // 첫 회원 -> 행이 없다
+                    return;
+                }
+            }
+        }
+        if (delta.removedMin != null) {
+            try (PreparedStatement ps = connection.prepareStatement(RECOMPUTE_EXTREMES.formatted(memberFilter(delta.teamId)))) {
+                int index = bindTeam(ps, 1, delta.teamId);
+                index = bindTeam(ps, index, delta.teamId);
+                ps.setLong(index++, delta.teamId);
+                ps.setInt(index++, delta.removedMin);
+                ps.setInt(index, delta.removedMax);
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    private void recompute(Connection connection, Long teamId) throws SQLException {
+        try (PreparedStatement merge = connection.prepareStatement(MERGE_FROM_MEMBER.formatted(memberFilter(teamId)))) {
+            merge.setLong(1, teamId);
+            bindTeam(merge, 2, teamId);
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    merge.executeUpdate();
+                    return;
+                } catch (SQLException e) {
+                    boolean concurrentInsert = e.getErrorCode() == CONCURRENT_UPDATE || DUPLICATE_KEY.equals(e.getSQLState());
+                    if (!concurrentInsert || attempt == MERGE_ATTEMPTS) {
+                        throw e;
+                    }
+                    log.debug("team_statistics merge retried for team {}", teamId);
+                }
+            }
+        }
+    }
+
+    private static String memberFilter(Long teamId) {
+        return teamId == TeamStatistics.NO_TEAM ? "team_id is null" : "team_id = ?";
+    }
+
+    private static int bindTeam(PreparedStatement ps, int index, Long teamId) throws SQLException {
+        if (teamId == TeamStatistics.NO_TEAM) {
+            return index;
+        }
+        ps.setLong(index, teamId);
+        return index + 1;
+    }
+
+    private static Long teamId(EntityPersister persister, Object[] state) {
+        Team team = (Team) state[persister.getPropertyIndex("team")];
+        return team == null ? TeamStatistics.NO_TEAM : team.getId(); // 프록시여도 id 는 초기화 없이 꺼낸다.
+    }
+
+    private static int age(EntityPersister persister, Object[] state) {
+        return (Integer) state[persister.getPropertyIndex("age")];
+    }
+
+    // ---- 벌크 연산 ----
+
+    @Override
+    public void beforeBulk(BulkOperation operation) {
+        if (!operation.isOn(Member.class)) {
+            return;
+        }
+        operation.getAttributes().put(TEAM_IDS, affectedTeamIds(operation));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void afterBulk(BulkOperation operation, long affected) {
+        if (!operation.isOn(Member.class) || affected == 0) {
+            return;
+        }
+        if (operation.assigns("team")) {
+            rebuild(); // 옮겨간 팀을 알 수 없다 -> 전체 재계산
+            return;
+        }
+        if (operation.getType() == BulkOperation.Type.UPDATE && !operation.assigns("age")) {
+            return; // username 만 바꾸는 벌크 update
+        }
+        Set<Long> teamIds = (Set<Long>) operation.getAttributes().get(TEAM_IDS);
+        if (operation.getType() == BulkOperation.Type.UPSERT) {
+            // 새로 들어간 행 -> 실행 후 조건에 걸리는 팀도 포함
+            teamIds.addAll(affectedTeamIds(operation));
+        }
+        em.unwrap(Session.class).doWork(connection -> {
+            for (Long teamId : teamIds) {
+                recompute(connection, teamId);
+            }
+        });
+    }
+
+    private Set<Long> affectedTeamIds(BulkOperation operation) {
+        QMember root = new QMember(operation.getRoot().getMetadata());
+        List<Long> teamIds = new JPAQuery<>(em)
+                .select(root.team.id)
+                .distinct()
+                .from(root)
+                .where(operation.getWhere())
+                .fetch();
+        Set<Long> affected = new HashSet<>();
+        for (Long teamId : teamIds) {
+            affected.add(teamId == null ? TeamStatistics.NO_TEAM : teamId);
+        }
+        return affected;
+    }
+
+    // 한 팀의 변경분
+    private static final class Delta {
+
+        private final Long teamId;
+        private long count;
+        private long sum;
+        private Integer addedMin;
+        private Integer addedMax;
+        private Integer removedMin;
+        private Integer removedMax;
+        private boolean recompute;
+
+        private Delta(Long teamId) {
+            this.teamId = teamId;
+        }
+
+        void add(int age) {
+            count++;
+            sum += age;
+            addedMin = addedMin == null ? age : Math.min(addedMin, age);
+            addedMax = addedMax == null ? age : Math.max(addedMax, age);
+        }
+
+        void remove(int age) {
+            count--;
+            sum -= age;
+            removedMin = removedMin == null ? age : Math.min(removedMin, age);
+            removedMax = removedMax == null ? age : Math.max(removedMax, age);
+        }
+    }
+}
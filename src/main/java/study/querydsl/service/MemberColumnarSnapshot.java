@@ -0,0 +1,525 @@
+package study.querydsl.service;
+
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.AgeStatisticsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.TeamStatistics;
+import study.querydsl.repository.support.BulkOperation;
+import study.querydsl.repository.support.BulkOperationListener;
+
+/**
+ * 분석용 회원 스냅샷 - member_id, age, team_id 는 primitive 배열, username 은 사전(dictionary) 코드로 들고 있다.
+ * aggregation, subQueyryGoe, subQueyryIn 같은 집계 / 비교를 DB 없이 배열 루프로 처리한다. (루프 안에서 할당 x)
+ *
+ * 갱신은 주기적으로, 바뀐 부분만:
+ * - id 워터마크 : 마지막으로 읽은 최대 id 보다 큰 행을 추가로 읽는다.
+ * - 변경 id    : 커밋된 엔티티 insert / update / delete 의 id 를 모아 두었다가 그 행만 다시 읽는다. (없으면 삭제)
+ * - 벌크 연산  : 어떤 행이 바뀌었는지 모르므로 커밋 후 전체 다시 읽기
+ *
+ * 변경 id 는 이 JVM 에서 커밋된 것만 알 수 있다. 다른 서버에서 추가 / 변경한 행은 reload() 전까지 반영되지 않을 수 있다.
+ * (pooled 시퀀스는 서버마다 50개씩 id 를 미리 가져가므로 id 순서와 커밋 순서가 다르다. -> 워터마크보다 작은 id 가 나중에 커밋될 수 있다)
+ * 읽는 쪽은 volatile 로 교체되는 불변 Columns 를 보므로 락이 없다.
+ *
+ * 전체 member 를 힙에 올리고 주기적으로 DB 를 읽으므로 querydsl.snapshot.enabled=true 일 때만 뜬다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "querydsl.snapshot.enabled", havingValue = "true")
+public class MemberColumnarSnapshot implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, BulkOperationListener {
+
+    private static final int FETCH_SIZE = 1_000;
+    private static final int IN_CLAUSE_SIZE = 1_000;
+    private static final int NO_USERNAME = -1;
+    private static final int AGE_LOOKUP_LIMIT = 1 << 16; // 이보다 넓은 나이 범위는 lookup 테이블 대신 이진 탐색
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate readOnly;
+
+    private final Set<Long> changedIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean reloadRequired = true;
+    private volatile Columns columns = Columns.EMPTY;
+
+    public MemberColumnarSnapshot(JPAQueryFactory queryFactory, EntityManagerFactory emf,
+                                  PlatformTransactionManager transactionManager) {
+        this.queryFactory = queryFactory;
+        this.emf = emf;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    // ---- 조회 ----
+
+    public int size() {
+        return columns.size;
+    }
+
+    // 회원 수, 나이 합 / 평균 / 최소 / 최대 (aggregation)
+    public AgeStatisticsDto ageStatistics() {
+        Columns c = columns;
+        if (c.size == 0) {
+            return new AgeStatisticsDto(0L, null, null, null, null);
+        }
+        int[] ages = c.ages;
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < c.size; i++) {
+            int age = ages[i];
+            sum += age;
+            min = Math.min(min, age);
+            max = Math.max(max, age);
+        }
+        return new AgeStatisticsDto((long) c.size, sum, (double) sum / c.size, min, max);
+    }
+
+    // 나이가 평균 이상인 회원 (subQueyryGoe)
+    public long[] idsWithAgeGoeAverage() {
+        Columns c = columns;
+        if (c.size == 0) {
+            return new long[0];
+        }
+        long sum = 0;
+        for (int i = 0; i < c.size; i++) {
+            sum += c.ages[i];
+        }
+        // age >= avg  <=>  age * size >= sum  (실수 비교 없이)
+        int count = 0;
+        for (int i = 0; i < c.size; i++) {
+            if ((long) c.ages[i] * c.size >= sum) {
+                count++;
+            }
+        }
+        long[] result = new long[count];
+        for (int i = 0, n = 0; n < count; i++) {
+            if ((long) c.ages[i] * c.size >= sum) {
+                result[n++] = c.ids[i];
+            }
+        }
+        return result;
+    }
+
+    public long[] idsWithAgeGoe(int age) {
+        Columns c = columns;
+        int count = 0;
+        for (int i = 0; i < c.size; i++) {
+            if (c.ages[i] >= age) {
+                count++;
+            }
+        }
+        long[] result = new long[count];
+        for (int i = 0, n = 0; n < count; i++) {
+            if (c.ages[i] >= age) {
+                result[n++] = c.ids[i];
+            }
+        }
+        return result;
+    }
+
+    // 나이가 ages 중 하나인 회원 (subQueyryIn) - 나이 범위만큼의 lookup 테이블로 비교
+    // 범위는 스냅샷에 있는 최소 ~ 최대 나이로 자른다. (호출하는 쪽 값으로 배열 크기가 정해지지 않게)
+    public long[] idsWithAgeIn(int... ages) {
+        Columns c = columns;
+        if (ages.length == 0 || c.size == 0) {
+            return new long[0];
+        }
+        int low = Math.max(Arrays.stream(ages).min().getAsInt(), c.minAge);
+        int high = Math.min(Arrays.stream(ages).max().getAsInt(), c.maxAge);
+        if (low > high) {
+            return new long[0];
+        }
+
+        IntPredicate matches;
+        if ((long) high - low + 1 <= AGE_LOOKUP_LIMIT) {
+            boolean[] lookup = new boolean[high - low + 1];
+            for (int age : ages) {
+                if (age >= low && age <= high) {
+                    lookup[age - low] = true;
+                }
+            }
+            matches = age -> age >= low && age <= high && lookup[age - low];
+        } else {
+            int[] sorted = ages.clone();
+            Arrays.sort(sorted);
+            matches = age -> Arrays.binarySearch(sorted, age) >= 0;
+        }
+
+        int count = 0;
+        for (int i = 0; i < c.size; i++) {
+            if (matches.test(c.ages[i])) {
+                count++;
+            }
+        }
+        long[] result = new long[count];
+        for (int i = 0, n = 0; n < count; i++) {
+            if (matches.test(c.ages[i])) {
+                result[n++] = c.ids[i];
+            }
+        }
+        return result;
+    }
+
+    public long[] idsInTeam(long teamId) {
+        Columns c = columns;
+        int count = 0;
+        for (int i = 0; i < c.size; i++) {
+            if (c.teamIds[i] == teamId) {
+                count++;
+            }
+        }
+        long[] result = new long[count];
+        for (int i = 0, n = 0; n < count; i++) {
+            if (c.teamIds[i] == teamId) {
+                result[n++] = c.ids[i];
+            }
+        }
+        return result;
+    }
+
+    // 문자열 비교 대신 사전 코드(int) 비교
+    public long[] idsWithUsername(String username) {
+        Columns c = columns;
+        Integer found = c.codes.get(username);
+        if (found == null) {
+            return new long[0];
+        }
+        int code = found;
+        int count = 0;
+        for (int i = 0; i < c.size; i++) {
+            if (c.usernames[i] == code) {
+                count++;
+            }
+        }
+        long[] result = new long[count];
+        for (int i = 0, n = 0; n < count; i++) {
+            if (c.usernames[i] == code) {
+                result[n++] = c.ids[i];
+            }
+        }
+        return result;
+    }
+
+    public String username(long id) {
+        Columns c = columns;
+        int row = Arrays.binarySearch(c.ids, 0, c.size, id);
+        if (row < 0 || c.usernames[row] == NO_USERNAME) {
+            return null;
+        }
+        return c.dictionary[c.usernames[row]];
+    }
+
+    // ---- 갱신 ----
+
+    @Scheduled(fixedDelayString = "${querydsl.snapshot.refresh-interval-ms:10000}")
+    public synchronized void refresh() {
+        Columns current = columns;
+        if (reloadRequired || current.dictionary.length > 2 * Math.max(current.size, 1_000)) {
+            reload(); // 처음이거나 벌크 연산 후, 또는 안 쓰는 username 이 쌓였을 때
+            return;
+        }
+
+        long[] changed = drainChangedIds();
+        Builder incoming = new Builder(current.codes, current.dictionary, 0);
+        readOnly.executeWithoutResult(status -> {
+            // id 순서대로 쌓이도록 워터마크 이하(변경된 행) -> 워터마크 초과(새 행) 순으로 읽는다.
+            int upToWatermark = upperBound(changed, current.maxId);
+            for (int i = 0; i < upToWatermark; i += IN_CLAUSE_SIZE) {
+                List<Long> chunk = new ArrayList<>(IN_CLAUSE_SIZE);
+                for (int j = i; j < Math.min(i + IN_CLAUSE_SIZE, upToWatermark); j++) {
+                    chunk.add(changed[j]);
+                }
+                load(member.id.in(chunk), incoming);
+            }
+            load(member.id.gt(current.maxId), incoming);
+        });
+
+        if (changed.length == 0 && incoming.size == 0) {
+            return;
+        }
+        columns = merge(current, changed, incoming);
+        log.debug("member snapshot refreshed: {} changed, {} loaded, {} rows", changed.length, incoming.size, columns.size);
+    }
+
+    // 전체 다시 읽기
+    public synchronized void reload() {
+        reloadRequired = false;
+        changedIds.clear();
+        Builder builder = new Builder(Map.of(), new String[0], 1_024);
+        readOnly.executeWithoutResult(status -> load(null, builder));
+        columns = builder.build();
+        log.info("member snapshot loaded: {} rows, {} usernames", columns.size, columns.dictionary.length);
+    }
+
+    private void load(BooleanExpression where, Builder builder) {
+        try (Stream<Tuple> rows = queryFactory
+                .select(member.id, member.username, member.age, member.team.id)
+                .from(member)
+                .where(where)
+                .orderBy(member.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .stream()) {
+            rows.forEach(row -> {
+                Long teamId = row.get(member.team.id);
+                builder.add(row.get(member.id), row.get(member.username), row.get(member.age),
+                        teamId == null ? TeamStatistics.NO_TEAM : teamId);
+            });
+        }
+    }
+
+    // 기존 행 중 바뀐 행은 빼고, 새로 읽은 행과 id 순서로 합친다.
+    private static Columns merge(Columns current, long[] changed, Builder incoming) {
+        Builder merged = new Builder(incoming.codes, incoming.dictionary(), current.size + incoming.size);
+        int i = 0;
+        int j = 0;
+        while (i < current.size || j < incoming.size) {
+            if (i < current.size && Arrays.binarySearch(changed, current.ids[i]) >= 0) {
+                i++; // 다시 읽은 행으로 대체되거나 삭제된 행
+            } else if (j >= incoming.size || (i < current.size && current.ids[i] < incoming.ids[j])) {
+                merged.addEncoded(current.ids[i], current.usernames[i], current.ages[i], current.teamIds[i]);
+                i++;
+            } else {
+                merged.addEncoded(incoming.ids[j], incoming.usernames[j], incoming.ages[j], incoming.teamIds[j]);
+                j++;
+            }
+        }
+        return merged.build();
+    }
+
+    private long[] drainChangedIds() {
+        long[] changed = new long[changedIds.size()];
+        int n = 0;
+        for (Long id : changedIds) {
+            if (n == changed.length) {
+                break; // 읽는 동안 추가된 id 는 다음 refresh 에서
+            }
+            changed[n++] = id;
+        }
+        changed = Arrays.copyOf(changed, n);
+        for (long id : changed) {
+            changedIds.remove(id);
+        }
+        Arrays.sort(changed);
+        return changed;
+    }
+
+    // sorted 에서 value 이하인 원소 개수
+    private static int upperBound(long[] sorted, long value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    // ---- 변경 감지 ----
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member m) {
+            changedIds.add(m.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member m) {
+            changedIds.add(m.getId());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member m) {
+            changedIds.add(m.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Member.class.equals(persister.getMappedClass());
+    }
+
+    @Override
+    public void afterBulk(BulkOperation operation, long affected) {
+        if (!operation.isOn(Member.class) || affected == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadRequired = true;
+                }
+            });
+        } else {
+            reloadRequired = true;
+        }
+    }
+
+    // 한 시점의 스냅샷 (만든 뒤에는 바꾸지 않는다)
+    private static final class Columns {
+
+        static final Columns EMPTY = new Columns(new long[0], new int[0], new long[0], new int[0], 0, Map.of(), new String[0]);
+
+        final long[] ids; // 오름차순
+        final int[] ages;
+        final long[] teamIds;
+        final int[] usernames; // dictionary 의 index, null 이면 NO_USERNAME
+        final int size;
+        final long maxId;
+        final int minAge;
+        final int maxAge;
+        final Map<String, Integer> codes;
+        final String[] dictionary;
+
+        Columns(long[] ids, int[] ages, long[] teamIds, int[] usernames, int size,
+                Map<String, Integer> codes, String[] dictionary) {
+            this.ids = ids;
+            this.ages = ages;
+            this.teamIds = teamIds;
+            this.usernames = usernames;
+            this.size = size;
+            this.maxId = size == 0 ? 0 : ids[size - 1];
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                min = Math.min(min, ages[i]);
+                max = Math.max(max, ages[i]);
+            }
+            this.minAge = min;
+            this.maxAge = max;
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+    }
+
+    // 배열을 늘려가며 행을 쌓는다. 새 username 이 나올 때만 사전을 복사한다.
+    private static final class Builder {
+
+        long[] ids;
+        int[] ages;
+        long[] teamIds;
+        int[] usernames;
+        int size;
+
+        Map<String, Integer> codes;
+        private final List<String> added = new ArrayList<>();
+        private final String[] baseDictionary;
+        private boolean codesCopied;
+
+        Builder(Map<String, Integer> codes, String[] dictionary, int capacity) {
+            this.codes = codes;
+            this.baseDictionary = dictionary;
+            this.ids = new long[capacity];
+            this.ages = new int[capacity];
+            this.teamIds = new long[capacity];
+            this.usernames = new int[capacity];
+        }
+
+        void add(long id, String username, int age, long teamId) {
+            addEncoded(id, encode(username), age, teamId);
+        }
+
+        void addEncoded(long id, int username, int age, long teamId) {
+            if (size == ids.length) {
+                int capacity = Math.max(16, size * 2);
+                ids = Arrays.copyOf(ids, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                teamIds = Arrays.copyOf(teamIds, capacity);
+                usernames = Arrays.copyOf(usernames, capacity);
+            }
+            ids[size] = id;
+            usernames[size] = username;
+            ages[size] = age;
+            teamIds[size] = teamId;
+            size++;
+        }
+
+        private int encode(String username) {
+            if (username == null) {
+                return NO_USERNAME;
+            }
+            Integer code = codes.get(username);
+            if (code != null) {
+                return code;
+            }
+            if (!codesCopied) {
+                codes = new HashMap<>(codes); // 이전 스냅샷의 map 은 읽는 쪽이 쓰고 있으므로 복사
+                codesCopied = true;
+            }
+            int newCode = baseDictionary.length + added.size();
+            codes.put(username, newCode);
+            added.add(username);
+            return newCode;
+        }
+
+        String[] dictionary() {
+            if (added.isEmpty()) {
+                return baseDictionary;
+            }
+            String[] dictionary = Arrays.copyOf(baseDictionary, baseDictionary.length + added.size());
+            for (int i = 0; i < added.size(); i++) {
+                dictionary[baseDictionary.length + i] = added.get(i);
+            }
+            return dictionary;
+        }
+
+        Columns build() {
+            return new Columns(ids, ages, teamIds, usernames, size, codes, dictionary());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package study.querydsl.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import study.querydsl.dto.AgeStatisticsDto;
+import study.querydsl.dto.MemberDashboardDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.TeamAgeDto;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.TeamStatisticsRepository;
+import study.querydsl.repository.support.ParallelQueryExecutor;
+
+/**
+ * 회원 화면 - 목록(페이지), 전체 나이 집계, 팀별 평균 나이를 동시에 조회
+ * 집계는 member 를 매번 group by 하지 않고 team_statistics 에서 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberDashboardService {
+
+    private final MemberRepository memberRepository;
+    private final TeamStatisticsRepository teamStatisticsRepository;
+    private final ParallelQueryExecutor parallelQueryExecutor;
+
+    public MemberDashboardDto dashboard(MemberSearchCondition condition, Pageable pageable) {
+        try (ParallelQueryExecutor.Scope scope = parallelQueryExecutor.open()) {
+            Supplier<Page<MemberTeamDto>> members = scope.fork(query -> memberRepository.searchPage(condition, pageable));
+
+            Supplier<AgeStatisticsDto> ageStatistics = scope.fork(query -> teamStatisticsRepository.totals());
+            Supplier<List<TeamAgeDto>> teamAges = scope.fork(query -> teamStatisticsRepository.teamAverages());
+
+            scope.join();
+            return new MemberDashboardDto(members.get(), ageStatistics.get(), teamAges.get());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package study.querydsl.service;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+/**
+ * 회원 전체 export - fetch() 로 List 를 만들지 않고 커서(Stream)로 한 건씩 흘려보낸다.
+ * 영속성 컨텍스트는 일정 건수마다 비워서 메모리가 row 수와 무관하게 일정하도록 한다.
+ * 2차 캐시는 읽지도 쓰지도 않는다. (한 번 훑고 끝나는 조회)
+ */
+@Service
+@RequiredArgsConstructor
+public class MemberExportService {
+
+    static final int FETCH_SIZE = 1_000;
+    static final int CLEAR_INTERVAL = 1_000;
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    /**
+     * @return 내보낸 회원 수
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        try (Stream<Member> stream = queryFactory
+                .selectFrom(member)
+                .leftJoin(member.team, team).fetchJoin() // team 이름 때문에 N+1 이 나지 않도록
+                .orderBy(member.id.asc())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true) // 스냅샷(dirty checking) x
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE) // 전체를 2차 캐시에 넣어 다른 엔트리를 밀어내지 않게
+                .stream()) {
+
+            return format == Format.CSV
+                    ? writeCsv(stream.iterator(), out)
+                    : writeNdjson(stream.iterator(), out);
+        }
+    }
+
+    private long writeCsv(Iterator<Member> members, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("member_id,username,age,team_id,team_name\n");
+
+        long count = 0;
+        while (members.hasNext()) {
+            Member m = members.next();
+            Team t = m.getTeam();
+            writer.write(String.valueOf(m.getId()));
+            writer.write(',');
+            writeCsvValue(writer, m.getUsername());
+            writer.write(',');
+            writer.write(String.valueOf(m.getAge()));
+            writer.write(',');
+            writer.write(t == null ? "" : String.valueOf(t.getId()));
+            writer.write(',');
+            writeCsvValue(writer, t == null ? null : t.getName());
+            writer.write('\n');
+
+            if (++count % CLEAR_INTERVAL == 0) {
+                em.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Member> members, OutputStream out) throws IOException {
+        JsonGenerator gen = objectMapper.getFactory().createGenerator(out);
+        gen.setRootValueSeparator(new SerializedString("\n")); // 한 줄에 한 건
+
+        long count = 0;
+        while (members.hasNext()) {
+            Member m = members.next();
+            Team t = m.getTeam();
+            gen.writeStartObject();
+            gen.writeNumberField("memberId", m.getId());
+            gen.writeStringField("username", m.getUsername());
+            gen.writeNumberField("age", m.getAge());
+            if (t != null) {
+                gen.writeNumberField("teamId", t.getId());
+                gen.writeStringField("teamName", t.getName());
+            } else {
+                gen.writeNullField("teamId");
+                gen.writeNullField("teamName");
+            }
+            gen.writeEndObject();
+
+            if (++count % CLEAR_INTERVAL == 0) {
+                em.clear();
+                gen.flush();
+            }
+        }
+        if (count > 0) {
+            gen.writeRaw('\n');
+        }
+        gen.flush();
+        return count;
+    }
+
+    private void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
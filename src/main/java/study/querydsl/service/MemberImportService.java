@@ -0,0 +1,79 @@
+package study.querydsl.service;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.ImportResult;
+import study.querydsl.dto.MemberImportRow;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+/**
+ * 회원 대량 등록
+ * - id: pooled 시퀀스 (allocationSize 만큼 한 번에 확보)
+ * - insert: hibernate.jdbc.batch_size + order_inserts 로 JDBC batch
+ * - batchSize 건마다 flush / clear -> 영속성 컨텍스트가 커지지 않게
+ * - 팀: 배치마다 이름 in 쿼리 1번 (TeamResolver), 회원에는 FK 만 세팅한다.
+ *   (생성자의 team.addMember 는 getReference 프록시를 초기화해서 팀마다 select 가 나간다)
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+
+    private final EntityManager em;
+    private final TeamResolver teamResolver;
+    private final int batchSize;
+
+    public MemberImportService(EntityManager em,
+                               TeamResolver teamResolver,
+                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.em = em;
+        this.teamResolver = teamResolver;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public ImportResult importMembers(Iterable<MemberImportRow> rows) {
+        long start = System.nanoTime();
+
+        Map<String, Long> teamIds = new HashMap<>(); // 팀명 -> id (clear 해도 유지)
+        List<MemberImportRow> batch = new ArrayList<>(batchSize);
+        long count = 0;
+        Iterator<MemberImportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                count += importBatch(batch, teamIds);
+                batch.clear();
+            }
+        }
+
+        ImportResult result = new ImportResult(count, System.nanoTime() - start);
+        log.info("member import: rows={}, elapsed={}ms, rows/s={}",
+                result.getRows(), result.getElapsedMillis(), String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private int importBatch(List<MemberImportRow> batch, Map<String, Long> teamIds) {
+        teamResolver.resolve(batch.stream().map(MemberImportRow::getTeamName).toList(), teamIds);
+
+        for (MemberImportRow row : batch) {
+            Member newMember = new Member(row.getUsername(), row.getAge());
+            if (row.getTeamName() != null) {
+                // 연관관계 주인만 세팅 -> 프록시를 초기화하지 않는다. (team.members 는 다음에 로딩할 때 DB 에서)
+                newMember.setTeam(em.getReference(Team.class, teamIds.get(row.getTeamName())));
+            }
+            em.persist(newMember);
+        }
+        em.flush();
+        em.clear();
+        return batch.size();
+    }
+}
@@ -0,0 +1,246 @@
+package study.querydsl.service;
+
+import static java.util.stream.Collectors.joining;
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Path;
+import com.querydsl.sql.ColumnMetadata;
+import jakarta.persistence.EntityManager;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.ImportResult;
+import study.querydsl.dto.MemberImportRow;
+import study.querydsl.entity.JobLock;
+import study.querydsl.entity.Member;
+import study.querydsl.repository.JobLockRepository;
+import study.querydsl.repository.support.BulkOperation;
+import study.querydsl.repository.support.BulkOperationListener;
+import study.querydsl.sql.SMember;
+
+/**
+ * 회원 대량 upsert (username + 팀이 같은 회원이 있으면 age 를 갱신, 없으면 등록)
+ * - 행마다 select 후 persist 하지 않고 MERGE 한 문장으로 처리, JDBC batch (hibernate.jdbc.batch_size 건씩)
+ * - 컬럼 / 타입은 SMember (member 테이블 메타데이터) 에서 가져온다.
+ * - id: 엔티티와 같은 pooled 시퀀스 generator 로 미리 받는다. (갱신되는 행 몫은 버려진다)
+ * - 팀: 배치마다 이름 in 쿼리 1번, 없으면 persist
+ *
+ * H2 의 MERGE INTO ... KEY(username, team_id) 는 일치하는 행의 member_id 까지 덮어쓰고
+ * team_id 가 null 인 행은 일치시키지 못해서 MERGE INTO ... USING 을 쓴다.
+ *
+ * (username, team_id) 에는 unique 제약이 없다. (같은 팀에 같은 이름이 있을 수 있다 - 키셋 페이징의 동률 정리 등)
+ * -> 두 upsert 가 동시에 돌면 둘 다 "없음" 으로 보고 중복 insert 할 수 있으므로 upsert 끼리는 순서대로 실행한다.
+ *    job_lock 의 member-upsert 행을 트랜잭션 끝까지 for update 로 잡는다. (서버가 여러 대여도)
+ *    나중에 온 쪽은 DB 락 대기 시간만큼 기다리고, 그 안에 못 잡으면 실패한다.
+ * 이미 같은 키의 회원이 여러 명이면 모두 갱신된다.
+ *
+ * 벌크 리스너 (팀 통계, username 캐시, 스냅샷) 에는 upsert 전체를 벌크 연산 (UPSERT, age 갱신) 1번으로 알린다.
+ * (배치마다 알리면 팀 통계를 배치마다 다시 계산)
+ * 영향받는 팀은 끝나야 알 수 있으므로 beforeBulk 도 실행 후에 호출된다.
+ */
+@Slf4j
+@Service
+public class MemberUpsertService {
+
+    private static final SMember m = SMember.member;
+    private static final List<Path<?>> COLUMNS = List.of(m.memberId, m.username, m.age, m.teamId); // 바인딩 순서
+    private static final String MERGE_SQL = mergeSql();
+    private static final String LOCK_NAME = "member-upsert";
+
+    private final EntityManager em;
+    private final TeamResolver teamResolver;
+    private final ObjectProvider<BulkOperationListener> bulkListeners;
+    private final JobLockRepository lockRepository;
+    private final TransactionTemplate newTransaction;
+    private final int batchSize;
+
+    public MemberUpsertService(EntityManager em,
+                               TeamResolver teamResolver,
+                               ObjectProvider<BulkOperationListener> bulkListeners,
+                               JobLockRepository lockRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.em = em;
+        this.teamResolver = teamResolver;
+        this.bulkListeners = bulkListeners;
+        this.lockRepository = lockRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public ImportResult upsert(Iterable<MemberImportRow> rows) {
+        long start = System.nanoTime();
+        lockUpserts();
+
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Member.class);
+        // 2차 캐시 / 쿼리 캐시 정리 (네이티브 update 와 같은 방식, 커밋 후에도 한 번 더)
+        session.getActionQueue().addAction(new BulkOperationCleanupAction(session, persister));
+        em.flush();
+
+        Map<String, Long> teamIds = new HashMap<>(); // 팀명 -> id
+        Affected affected = new Affected();
+        List<MemberImportRow> batch = new ArrayList<>(batchSize);
+        long count = 0;
+        Iterator<MemberImportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                count += upsertBatch(batch, teamIds, affected, session, persister);
+                batch.clear();
+            }
+        }
+        notifyListeners(affected, count);
+        em.flush();
+        em.clear(); // 갱신된 회원이 영속성 컨텍스트에 이전 값으로 남지 않게
+
+        ImportResult result = new ImportResult(count, System.nanoTime() - start);
+        log.info("member upsert: rows={}, elapsed={}ms, rows/s={}",
+                result.getRows(), result.getElapsedMillis(), String.format("%.1f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private long upsertBatch(List<MemberImportRow> batch, Map<String, Long> teamIds, Affected affected,
+                             SessionImplementor session, EntityPersister persister) {
+        teamResolver.resolve(batch.stream().map(MemberImportRow::getTeamName).toList(), teamIds);
+
+        IdentifierGenerator generator = (IdentifierGenerator) persister.getGenerator();
+        List<Object[]> params = new ArrayList<>(batch.size());
+        for (MemberImportRow row : batch) {
+            Long teamId = row.getTeamName() == null ? null : teamIds.get(row.getTeamName());
+            if (teamId == null) {
+                affected.noTeam = true;
+            } else {
+                affected.teamIds.add(teamId);
+            }
+            Object id = generator.generate(session, null);
+            params.add(checkNotNull(new Object[]{id, row.getUsername(), row.getAge(), teamId}));
+        }
+
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(MERGE_SQL)) {
+                for (Object[] param : params) {
+                    for (int i = 0; i < COLUMNS.size(); i++) {
+                        bind(ps, i + 1, COLUMNS.get(i), param[i]);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+        return batch.size();
+    }
+
+    // not null 컬럼 (age 등) 이 비어 있는 행은 배치를 보내기 전에 거른다. (앞 배치는 트랜잭션과 함께 롤백)
+    private static Object[] checkNotNull(Object[] param) {
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            if (param[i] == null && !meta(COLUMNS.get(i)).isNullable()) {
+                throw new IllegalArgumentException(name(COLUMNS.get(i)) + " is required: username=" + param[1]);
+            }
+        }
+        return param;
+    }
+
+    private static void bind(PreparedStatement ps, int index, Path<?> column, Object value) throws SQLException {
+        int jdbcType = meta(column).getJdbcType();
+        if (value == null) {
+            ps.setNull(index, jdbcType);
+        } else {
+            ps.setObject(index, value, jdbcType);
+        }
+    }
+
+    // 영향받는 범위: upsert 한 팀 전체 (갱신 + 새로 들어간 행 모두)
+    private void notifyListeners(Affected affected, long count) {
+        if (count == 0) {
+            return;
+        }
+        BooleanBuilder where = new BooleanBuilder();
+        if (!affected.teamIds.isEmpty()) {
+            where.or(member.team.id.in(affected.teamIds));
+        }
+        if (affected.noTeam) {
+            where.or(member.team.isNull());
+        }
+        // 일치하는 행은 age 만 갱신 (username, team 은 일치 조건)
+        BulkOperation operation = new BulkOperation(BulkOperation.Type.UPSERT, member, where.getValue(),
+                Set.<Path<?>>of(member.age));
+
+        List<BulkOperationListener> listeners = bulkListeners.orderedStream().toList();
+        for (BulkOperationListener listener : listeners) {
+            listener.beforeBulk(operation);
+        }
+        for (BulkOperationListener listener : listeners) {
+            listener.afterBulk(operation, count);
+        }
+    }
+
+    // upsert 끼리 순서대로 - 잠글 행이 없으면 먼저 만든다. (동시에 만들면 한쪽은 중복 키 -> 다른 쪽이 만든 행을 잠근다)
+    private void lockUpserts() {
+        JobLock lock = lockRepository.findForUpdate(LOCK_NAME).orElseGet(() -> {
+            try {
+                newTransaction.executeWithoutResult(status -> lockRepository.save(new JobLock(LOCK_NAME)));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("{} lock row created concurrently", LOCK_NAME);
+            }
+            return lockRepository.findForUpdate(LOCK_NAME).orElseThrow();
+        });
+        lock.locked();
+    }
+
+    private static final class Affected {
+
+        private final Set<Long> teamIds = new HashSet<>();
+        private boolean noTeam;
+    }
+
+    // merge into member t using (select cast(? as BIGINT) member_id, ...) s
+    //   on t.username = s.username and t.team_id is not distinct from s.team_id
+    // when matched then update set age = s.age
+    // when not matched then insert (member_id, username, age, team_id) values (s.member_id, ...)
+    private static String mergeSql() {
+        String source = COLUMNS.stream()
+                .map(column -> "cast(? as " + JDBCType.valueOf(meta(column).getJdbcType()).getName() + ") " + name(column))
+                .collect(joining(", "));
+        String insertColumns = COLUMNS.stream().map(MemberUpsertService::name).collect(joining(", "));
+        String insertValues = COLUMNS.stream().map(column -> "s." + name(column)).collect(joining(", "));
+
+        return "merge into " + m.getTableName() + " t"
+                + " using (select " + source + ") s"
+                + " on t." + name(m.username) + " = s." + name(m.username)
+                + " and t." + name(m.teamId) + " is not distinct from s." + name(m.teamId)
+                + " when matched then update set " + name(m.age) + " = s." + name(m.age)
+                + " when not matched then insert (" + insertColumns + ") values (" + insertValues + ")";
+    }
+
+    private static ColumnMetadata meta(Path<?> column) {
+        return m.getMetadata(column);
+    }
+
+    private static String name(Path<?> column) {
+        return meta(column).getName();
+    }
+}
@@ -0,0 +1,212 @@
+package study.querydsl.service;
+
+import static study.querydsl.entity.QMember.member;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.Member;
+import study.querydsl.monitoring.QueryMetrics;
+import study.querydsl.repository.support.BulkOperation;
+import study.querydsl.repository.support.BulkOperationListener;
+
+/**
+ * username -> member id 목록 캐시 (크기 제한 + TTL)
+ * 엔티티는 id 로 다시 읽는다. -> 2차 캐시(Member region)에서 꺼내므로 DB 를 타지 않고, 값은 항상 하이버네이트가 관리하는 최신 상태
+ *
+ * 무효화
+ * - 엔티티 insert / update(username 변경) / delete : 커밋 후 이벤트에서 해당 username 만
+ * - Querydsl 벌크 update(set username) / delete : 어떤 username 이 바뀌었는지 모르므로 전체, 실행 직후와 커밋 후 두 번
+ *   (bulkUpdateWithNoFlush 처럼 엔티티 리스너를 거치지 않는 경로)
+ *
+ * 조회 중에 무효화가 끼어들면 (읽은 값이 이미 낡았을 수 있으므로) 캐시에 남기지 않는다. -> generation 비교
+ * 다른 서버나 직접 SQL 로 바뀐 값은 TTL 이 지나면 사라진다.
+ */
+@Service
+public class MemberUsernameCache implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, BulkOperationListener {
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, List<Long>> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    public MemberUsernameCache(JPAQueryFactory queryFactory, EntityManager em, EntityManagerFactory emf,
+                               MeterRegistry meterRegistry,
+                               @Value("${querydsl.username-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${querydsl.username-cache.ttl:60s}") Duration ttl) {
+        this.queryFactory = queryFactory;
+        this.em = em;
+        this.emf = emf;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "member.username");
+    }
+
+    /**
+     * MemberRepository.findByUsername 과 같은 결과 (id 순)
+     * 커밋된 상태 기준이라, 같은 트랜잭션에서 아직 커밋하지 않은 username 변경은 반영되지 않을 수 있다.
+     */
+    @Transactional(readOnly = true)
+    public List<Member> findByUsername(String username) {
+        if (username == null) {
+            return List.of();
+        }
+
+        List<Long> ids = cache.getIfPresent(username);
+        if (ids == null) {
+            long before = generation.get();
+            ids = List.copyOf(queryFactory
+                    .select(member.id)
+                    .from(member)
+                    .where(member.username.eq(username))
+                    .orderBy(member.id.asc())
+                    .setHint(QueryMetrics.QUERY_NAME_HINT, "member.idsByUsername")
+                    .fetch());
+            cache.put(username, ids);
+            if (generation.get() != before) {
+                cache.invalidate(username); // 읽는 동안 무효화됨 -> 낡은 값일 수 있다
+            }
+        }
+
+        List<Member> members = em.unwrap(Session.class)
+                .byMultipleIds(Member.class)
+                .multiLoad(ids);
+        List<Member> result = new ArrayList<>(members.size());
+        for (Member m : members) {
+            // 지워졌거나 이 트랜잭션에서 이름이 바뀐 회원은 제외
+            if (m != null && Objects.equals(m.getUsername(), username)) {
+                result.add(m);
+            }
+        }
+        return result;
+    }
+
+    public void invalidate(String username) {
+        generation.incrementAndGet();
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    // ---- 엔티티 이벤트 (커밋 후) ----
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member m) {
+            invalidate(m.getUsername());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        int index = event.getPersister().getPropertyIndex("username");
+        Object before = event.getOldState() == null ? null : event.getOldState()[index];
+        Object after = event.getState()[index];
+        if (event.getOldState() == null) {
+            invalidateAll(); // 이전 이름을 모른다
+        } else if (!Objects.equals(before, after)) {
+            invalidate((String) before);
+            invalidate((String) after);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member m) {
+            invalidate(m.getUsername());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Member.class.equals(persister.getMappedClass());
+    }
+
+    // ---- 벌크 연산 ----
+
+    @Override
+    public void afterBulk(BulkOperation operation, long affected) {
+        if (!operation.isOn(Member.class) || affected == 0) {
+            return;
+        }
+        if (operation.getType() == BulkOperation.Type.UPDATE && !operation.assigns("username")) {
+            return; // 캐시에는 id 만 있으므로 username 이 그대로면 영향 없음 (엔티티 값은 2차 캐시에서 정리된다)
+        }
+        // UPSERT 는 새 회원을 넣을 수 있다 -> username 갱신이 없어도 무효화
+
+        invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 커밋 전까지 다른 트랜잭션이 이전 값으로 다시 채울 수 있다.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateAll();
+                }
+            });
+        }
+    }
+}
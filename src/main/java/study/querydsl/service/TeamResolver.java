@@ -0,0 +1,64 @@
+package study.querydsl.service;
+
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Team;
+
+/**
+ * 대량 등록 / upsert 에서 팀명 -> 팀 id
+ * 처음 보는 팀명만 in 쿼리 1번으로 조회하고, 없는 팀은 등록한다. (팀 엔티티는 로딩하지 않는다)
+ */
+@Component
+@RequiredArgsConstructor
+class TeamResolver {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+
+    /**
+     * @param names   이번 배치의 팀명 (null 은 팀 없음 -> 무시)
+     * @param teamIds 지금까지 확인한 팀명 -> id, 새로 확인한 팀을 추가한다.
+     */
+    void resolve(Iterable<String> names, Map<String, Long> teamIds) {
+        Set<String> unknown = new HashSet<>();
+        for (String name : names) {
+            if (name != null && !teamIds.containsKey(name)) {
+                unknown.add(name);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+
+        List<Tuple> found = queryFactory
+                .select(team.name, team.id)
+                .from(team)
+                .where(team.name.in(unknown))
+                .fetch();
+        for (Tuple tuple : found) {
+            teamIds.putIfAbsent(tuple.get(team.name), tuple.get(team.id));
+        }
+
+        boolean created = false;
+        for (String name : unknown) {
+            if (!teamIds.containsKey(name)) {
+                Team newTeam = new Team(name);
+                em.persist(newTeam);
+                teamIds.put(name, newTeam.getId());
+                created = true;
+            }
+        }
+        if (created) {
+            em.flush(); // 회원 insert / MERGE 가 참조하기 전에 team insert
+        }
+    }
+}
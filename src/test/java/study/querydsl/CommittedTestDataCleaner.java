@@ -0,0 +1,76 @@
+package study.querydsl;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.support.AbstractTestExecutionListener;
+import study.querydsl.service.MemberUsernameCache;
+
+/**
+ * @Commit (@Rollback(false)) 테스트가 커밋한 데이터를 테스트가 끝나면 지운다.
+ * 모든 테스트가 같은 DB 를 쓰므로 남겨 두면 뒤에 실행되는 테스트의 건수가 달라진다. (QuerydslBasicTest 의 벌크 연산 예제 등)
+ * 직접 커밋하는 테스트 (TransactionTemplate) 는 각자 @AfterEach 에서 정리한다.
+ *
+ * 등록: META-INF/spring.factories
+ */
+public class CommittedTestDataCleaner extends AbstractTestExecutionListener {
+
+    // TransactionalTestExecutionListener (4000) 보다 앞 -> after 는 역순이라 테스트 트랜잭션이 끝난 뒤에 실행된다.
+    @Override
+    public int getOrder() {
+        return 3900;
+    }
+
+    @Override
+    public void afterTestMethod(TestContext testContext) throws Exception {
+        if (!committed(testContext)) {
+            return;
+        }
+        ApplicationContext context = testContext.getApplicationContext();
+        truncateAll(context.getBean(DataSource.class));
+
+        // DB 를 직접 비웠으므로 캐시도 같이
+        context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getCache().evictAllRegions();
+        context.getBeanProvider(MemberUsernameCache.class).ifAvailable(MemberUsernameCache::invalidateAll);
+    }
+
+    private static boolean committed(TestContext testContext) {
+        Rollback rollback = AnnotatedElementUtils.findMergedAnnotation(testContext.getTestMethod(), Rollback.class);
+        if (rollback == null) {
+            rollback = AnnotatedElementUtils.findMergedAnnotation(testContext.getTestClass(), Rollback.class);
+        }
+        return rollback != null && !rollback.value();
+    }
+
+    // 테스트 DB (H2) 의 모든 테이블
+    private static void truncateAll(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            List<String> tables = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery("select table_name from information_schema.tables"
+                    + " where table_schema = 'PUBLIC' and table_type = 'BASE TABLE'")) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+            statement.execute("set referential_integrity false");
+            try {
+                for (String table : tables) {
+                    statement.execute("truncate table " + table);
+                }
+            } finally {
+                statement.execute("set referential_integrity true");
+            }
+        }
+    }
+}
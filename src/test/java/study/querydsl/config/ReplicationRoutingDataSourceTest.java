@@ -0,0 +1,97 @@
+package study.querydsl.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 로컬 H2 두 개 (primary, replica)
+@SpringBootTest(properties = {
+        "querydsl.datasource.routing.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "querydsl.datasource.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=7"
+})
+class ReplicationRoutingDataSourceTest {
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    ReplicationRoutingDataSource routingDataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void before() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        routingDataSource.checkHealth();
+    }
+
+    @Test
+    public void readOnly_replica() {
+        assertThat(connectedUrl(true)).contains("replica");
+    }
+
+    @Test
+    public void write_primary() {
+        assertThat(connectedUrl(false)).contains("primary");
+    }
+
+    @Test
+    public void replicaDown_fallbackToPrimary() {
+        routingDataSource.markDown("replica-0");
+
+        assertThat(connectedUrl(true)).contains("primary");
+    }
+
+    // primary 풀에도 spring.datasource.hikari.* 가 적용된다.
+    @Test
+    public void primaryHikariProperties() {
+        HikariDataSource primary = (HikariDataSource) routingDataSource.getPrimary();
+
+        assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(primary.getPoolName()).isEqualTo("primary");
+    }
+
+    // 계정을 지정해도 라우팅된 DataSource 로 (계정별 커넥션을 지원하는 DataSource 로 확인)
+    @Test
+    public void credentials_routed() throws Exception {
+        ReplicationRoutingDataSource credentialRouting = new ReplicationRoutingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1"),
+                List.of(new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1")));
+
+        try (Connection connection = credentialRouting.getConnection("sa", "")) {
+            assertThat(connection.getMetaData().getURL()).contains("primary");
+        }
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection connection = credentialRouting.getConnection("sa", "")) {
+            assertThat(connection.getMetaData().getURL()).contains("replica");
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private String connectedUrl(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getURL()));
+    }
+}
@@ -0,0 +1,107 @@
+package study.querydsl.controller;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityManager em;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("ctrlTeamA");
+        Team teamB = new Team("ctrlTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamA));
+        for (int i = 0; i < MemberController.MAX_KEYSET_SIZE + 5; i++) {
+            em.persist(new Member("bulk" + i, i, teamB));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void searchMemberV1() throws Exception {
+        mockMvc.perform(get("/v1/members").param("teamName", "ctrlTeamA").param("ageGoe", "15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].username").value("member2"))
+                .andExpect(jsonPath("$[0].teamName").value("ctrlTeamA"))
+                .andExpect(jsonPath("$[1].username").value("member3"));
+    }
+
+    @Test
+    public void searchMemberV2() throws Exception {
+        mockMvc.perform(get("/v2/members").param("teamName", "ctrlTeamA").param("size", "2").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.totalElements").value(3));
+    }
+
+    // nextCursor 로 다음 페이지, 마지막 페이지는 nextCursor 가 null
+    @Test
+    public void searchMemberV3() throws Exception {
+        JsonNode first = readJson(mockMvc.perform(get("/v3/members").param("teamName", "ctrlTeamA").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].username").value(contains("member3", "member2")))
+                .andReturn().getResponse().getContentAsString());
+
+        mockMvc.perform(get("/v3/members")
+                        .param("teamName", "ctrlTeamA")
+                        .param("size", "2")
+                        .param("cursor", first.get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].username").value(contains("member1")))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    public void searchMemberV3_sizeClamped() throws Exception {
+        mockMvc.perform(get("/v3/members").param("teamName", "ctrlTeamB").param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(MemberController.MAX_KEYSET_SIZE))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+    }
+
+    @Test
+    public void searchMemberV3_badRequest() throws Exception {
+        mockMvc.perform(get("/v3/members").param("size", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/v3/members").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode readJson(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+}
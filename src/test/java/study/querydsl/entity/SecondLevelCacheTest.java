@@ -0,0 +1,85 @@
+package study.querydsl.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 2차 캐시는 커밋해야 채워진다. -> 테스트 트랜잭션 없이 커밋하고 끝나면 지운다.
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private static final String MEMBER_REGION = "member";
+    private static final String TEAM_REGION = "team";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate transaction;
+    Statistics statistics;
+    Long memberId;
+    Long teamId;
+
+    @BeforeEach
+    public void before() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        transaction.executeWithoutResult(status -> {
+            Team team = new Team("cacheTeam");
+            em.persist(team);
+            Member member = new Member("cacheMember", 10, team);
+            em.persist(member);
+            teamId = team.getId();
+            memberId = member.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transaction.executeWithoutResult(status -> em.remove(em.find(Member.class, memberId)));
+        transaction.executeWithoutResult(status -> em.remove(em.find(Team.class, teamId)));
+    }
+
+    // 새 영속성 컨텍스트에서 find / 지연 로딩 -> DB 대신 region 에서
+    @Test
+    public void entityHits() {
+        long memberHits = region(MEMBER_REGION).getHitCount();
+        long teamHits = region(TEAM_REGION).getHitCount();
+        long statements = statistics.getPrepareStatementCount();
+
+        String teamName = transaction.execute(status -> em.find(Member.class, memberId).getTeam().getName());
+
+        assertThat(teamName).isEqualTo("cacheTeam");
+        assertThat(region(MEMBER_REGION).getHitCount()).isEqualTo(memberHits + 1);
+        assertThat(region(TEAM_REGION).getHitCount()).isEqualTo(teamHits + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements); // select 없음
+    }
+
+    // 엔티티 변경은 커밋 후 region 에 반영된다. (READ_WRITE)
+    @Test
+    public void updateRefreshesRegion() {
+        transaction.executeWithoutResult(status -> em.find(Member.class, memberId).setAge(20));
+        long memberHits = region(MEMBER_REGION).getHitCount();
+
+        Integer age = transaction.execute(status -> em.find(Member.class, memberId).getAge());
+
+        assertThat(age).isEqualTo(20);
+        assertThat(region(MEMBER_REGION).getHitCount()).isEqualTo(memberHits + 1);
+    }
+
+    private CacheRegionStatistics region(String regionName) {
+        return statistics.getCacheRegionStatistics(regionName);
+    }
+}
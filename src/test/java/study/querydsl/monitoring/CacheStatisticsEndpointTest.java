@@ -0,0 +1,67 @@
+package study.querydsl.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+@SpringBootTest
+class CacheStatisticsEndpointTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    CacheStatisticsEndpoint cacheStatisticsEndpoint;
+
+    // region 별 hit / miss / put / size / eviction, 쿼리 캐시 hit / miss / put
+    @Test
+    public void cacheStatistics() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long memberId = transaction.execute(status -> {
+            Member member = new Member("cacheStatsMember", 10);
+            em.persist(member);
+            return member.getId();
+        });
+
+        try {
+            long hitsBefore = memberRegion(cacheStatisticsEndpoint.cacheStatistics()).get("hit");
+            transaction.executeWithoutResult(status -> em.find(Member.class, memberId)); // region 에서
+
+            Map<String, Object> result = cacheStatisticsEndpoint.cacheStatistics();
+
+            assertThat(result).containsOnlyKeys("regions", "queryCache");
+            Map<String, Long> member = memberRegion(result);
+            assertThat(member).containsOnlyKeys("hit", "miss", "put", "size", "eviction");
+            assertThat(member.get("hit")).isEqualTo(hitsBefore + 1);
+            assertThat(member.get("put")).isPositive();
+            assertThat(member.get("eviction")).isZero();
+            assertThat(regions(result)).containsKey("team");
+            assertThat(cast(result.get("queryCache"))).containsOnlyKeys("hit", "miss", "put");
+        } finally {
+            transaction.executeWithoutResult(status -> em.remove(em.find(Member.class, memberId)));
+        }
+    }
+
+    private Map<String, Long> memberRegion(Map<String, Object> result) {
+        return cast(regions(result).get("member"));
+    }
+
+    private Map<String, Object> regions(Map<String, Object> result) {
+        return cast(result.get("regions"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Map<String, T> cast(Object value) {
+        return (Map<String, T>) value;
+    }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeamStatistics.teamStatistics;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indexadvice;DB_CLOSE_DELAY=-1", // 별도 컨텍스트 -> 공유 DB 의 스키마(member_seq)를 다시 만들지 않게
+        "querydsl.index-advisor.sample-rate=1"
+})
+@Transactional
+class IndexAdviceEndpointTest {
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    IndexAdviceEndpoint indexAdviceEndpoint;
+
+    // JPAQueryFactory 로 실행한 select 가 /actuator/indexadvice 에 보인다. (fetch, fetchOne 모두)
+    @Test
+    public void uncoveredPaths() {
+        long before = countOf("TeamStatistics.member_count");
+
+        queryFactory
+                .selectFrom(teamStatistics)
+                .where(teamStatistics.memberCount.gt(0))
+                .fetch();
+        queryFactory
+                .select(teamStatistics.teamId)
+                .from(teamStatistics)
+                .where(teamStatistics.memberCount.gt(100), teamStatistics.teamId.eq(-1L))
+                .fetchOne();
+        queryFactory
+                .selectFrom(member)
+                .where(member.username.eq("member1"))
+                .fetch();
+
+        assertThat(countOf("TeamStatistics.member_count")).isEqualTo(before + 2);
+        assertThat(indexAdviceEndpoint.uncoveredPaths())
+                .doesNotContainKeys("TeamStatistics.team_id", "Member.username");
+    }
+
+    private long countOf(String path) {
+        return indexAdviceEndpoint.uncoveredPaths().getOrDefault(path, 0L);
+    }
+}
@@ -0,0 +1,88 @@
+package study.querydsl.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.entity.QTeamStatistics.teamStatistics;
+
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.junit.jupiter.api.Test;
+
+class IndexAdvisorTest {
+
+    // 인덱스 선두 컬럼 (username, age, team_id FK, team.name, PK) 은 기록되지 않는다.
+    @Test
+    public void indexedPaths() {
+        IndexAdvisor indexAdvisor = new IndexAdvisor(1);
+
+        indexAdvisor.inspect(new JPAQuery<>()
+                .from(member)
+                .join(member.team, team)
+                .where(member.username.eq("member1"),
+                        member.age.goe(10),
+                        member.team.id.eq(1L),
+                        team.name.eq("teamA"))
+                .orderBy(member.id.asc())
+                .getMetadata());
+
+        assertThat(indexAdvisor.uncoveredPaths()).isEmpty();
+    }
+
+    @Test
+    public void uncoveredPath() {
+        IndexAdvisor indexAdvisor = new IndexAdvisor(1);
+
+        indexAdvisor.inspect(new JPAQuery<>()
+                .from(teamStatistics)
+                .where(teamStatistics.memberCount.gt(0))
+                .orderBy(teamStatistics.ageSum.desc())
+                .getMetadata());
+        indexAdvisor.inspect(new JPAQuery<>()
+                .from(teamStatistics)
+                .where(teamStatistics.memberCount.gt(10), teamStatistics.teamId.eq(1L)) // 같은 경로, 다른 값
+                .getMetadata());
+
+        assertThat(indexAdvisor.uncoveredPaths())
+                .containsEntry("TeamStatistics.member_count", 2L)
+                .containsEntry("TeamStatistics.age_sum", 1L)
+                .doesNotContainKey("TeamStatistics.team_id");
+    }
+
+    // 서브쿼리의 where 도 검사한다.
+    @Test
+    public void subQuery() {
+        IndexAdvisor indexAdvisor = new IndexAdvisor(1);
+
+        indexAdvisor.inspect(new JPAQuery<>()
+                .from(member)
+                .where(member.team.id.in(JPAExpressions
+                        .select(teamStatistics.teamId)
+                        .from(teamStatistics)
+                        .where(teamStatistics.ageMax.goe(40))))
+                .getMetadata());
+
+        assertThat(indexAdvisor.uncoveredPaths()).containsOnlyKeys("TeamStatistics.age_max");
+    }
+
+    // 검사한 건수 x sampleRate 로 센다.
+    @Test
+    public void sampling() {
+        IndexAdvisor indexAdvisor = new IndexAdvisor(10);
+
+        for (int i = 0; i < 1000; i++) {
+            indexAdvisor.inspect(new JPAQuery<>()
+                    .from(teamStatistics)
+                    .where(teamStatistics.memberCount.gt(i))
+                    .getMetadata());
+        }
+
+        Long estimated = indexAdvisor.uncoveredPaths().get("TeamStatistics.member_count");
+        assertThat(estimated).isNotNull();
+        assertThat(estimated % 10).isZero();
+        assertThat(estimated).isBetween(500L, 1500L);
+
+        assertThatThrownBy(() -> new IndexAdvisor(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
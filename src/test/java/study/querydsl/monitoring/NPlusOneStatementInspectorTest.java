@@ -0,0 +1,124 @@
+package study.querydsl.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+// Member 는 @BatchSize 가 없어서 default_batch_fetch_size=1 이면 프록시를 하나씩 초기화한다. (Team 은 @BatchSize(100))
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:nplusone;DB_CLOSE_DELAY=-1", // 별도 컨텍스트 -> 공유 DB 의 스키마(member_seq)를 다시 만들지 않게
+        "querydsl.n-plus-one.strict=true",
+        "querydsl.n-plus-one.threshold=2",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=1"
+})
+@Transactional
+class NPlusOneStatementInspectorTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        Team teamC = new Team("teamC");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamB));
+        em.persist(new Member("member3", 30, teamC));
+        em.flush();
+        em.clear();
+    }
+
+    // 지연 로딩 - 회원 프록시마다 member.getTeam().getName() 에서 select 가 한 번씩
+    @Test
+    public void lazyLoading() {
+        List<Member> proxies = new ArrayList<>();
+        for (Long id : queryFactory.select(member.id).from(member).fetch()) {
+            proxies.add(em.getReference(Member.class, id));
+        }
+
+        assertThatThrownBy(() -> {
+            for (Member m : proxies) {
+                m.getTeam().getName();
+            }
+        }).hasStackTraceContaining("N+1").hasStackTraceContaining("on member");
+    }
+
+    // 팀 프록시는 @BatchSize 로 한 번에 초기화 -> 감지되지 않는다.
+    @Test
+    public void lazyLoading_batchSize() {
+        List<Member> members = queryFactory
+                .selectFrom(member)
+                .fetch();
+
+        assertThat(members).extracting(m -> m.getTeam().getName())
+                .containsExactlyInAnyOrder("teamA", "teamB", "teamC");
+    }
+
+    // 회원마다 팀을 따로 조회 -> 같은 모양의 select 반복
+    @Test
+    public void perRowSelect() {
+        List<Member> members = queryFactory
+                .selectFrom(member)
+                .fetch();
+
+        assertThatThrownBy(() -> {
+            for (Member m : members) {
+                queryFactory
+                        .selectFrom(team)
+                        .where(team.id.eq(m.getTeam().getId()))
+                        .fetchOne();
+            }
+        }).hasStackTraceContaining("N+1");
+    }
+
+    @Test
+    public void fetchJoin() {
+        List<Member> members = queryFactory
+                .selectFrom(member)
+                .join(member.team, team).fetchJoin()
+                .fetch();
+
+        assertThat(members).extracting(m -> m.getTeam().getName())
+                .containsExactlyInAnyOrder("teamA", "teamB", "teamC");
+    }
+
+    // 배치 작업처럼 반복이 정상인 호출 위치는 제외 (호출 스택의 클래스 접두사)
+    @Test
+    public void ignoredCallers() {
+        String sql = "select t1_0.team_id,t1_0.name from team t1_0 where t1_0.team_id=?";
+        NPlusOneStatementInspector ignoring = new NPlusOneStatementInspector(new SimpleMeterRegistry(), 2, true,
+                List.of(NPlusOneStatementInspectorTest.class.getName()));
+        NPlusOneStatementInspector watching = new NPlusOneStatementInspector(new SimpleMeterRegistry(), 2, true,
+                List.of("study.querydsl.service.MemberImportService"));
+
+        assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isTrue(); // 테스트 트랜잭션
+        for (int i = 0; i < 3; i++) {
+            ignoring.inspect(sql);
+        }
+        watching.inspect(sql);
+        assertThatThrownBy(() -> watching.inspect(sql)).hasMessageContaining("N+1");
+    }
+}
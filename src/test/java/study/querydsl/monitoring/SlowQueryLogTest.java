@@ -0,0 +1,74 @@
+package study.querydsl.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.p6spy.engine.common.StatementInformation;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import study.querydsl.monitoring.SlowQueryLog.SlowQuery;
+
+class SlowQueryLogTest {
+
+    SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    public void before() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("dataSource", new DriverManagerDataSource("jdbc:h2:mem:slowquery;DB_CLOSE_DELAY=-1", "sa", ""));
+        slowQueryLog = new SlowQueryLog(beanFactory.getBeanProvider(DataSource.class), 0, 10, 10);
+    }
+
+    @AfterEach
+    public void after() {
+        slowQueryLog.shutdown();
+    }
+
+    @Test
+    public void isExplainable() {
+        assertThat(SlowQueryLog.isExplainable("select m.member_id from member m where m.age > 10")).isTrue();
+        assertThat(SlowQueryLog.isExplainable("SELECT * FROM member WHERE username = 'for update'")).isFalse(); // 보수적으로 제외
+
+        assertThat(SlowQueryLog.isExplainable("select * from bulk_job_checkpoint where job_name = 'a' for update")).isFalse();
+        assertThat(SlowQueryLog.isExplainable("select * from member for share")).isFalse();
+        assertThat(SlowQueryLog.isExplainable("select next value for member_seq")).isFalse();
+        assertThat(SlowQueryLog.isExplainable("select nextval('member_seq')")).isFalse();
+        assertThat(SlowQueryLog.isExplainable("update member set age = age + 1")).isFalse();
+        assertThat(SlowQueryLog.isExplainable("delete from member where age > 100")).isFalse();
+        assertThat(SlowQueryLog.isExplainable("merge into team_statistics key (team_id) select 1, 0, 0, null, null")).isFalse();
+    }
+
+    // 모두 기록하지만 EXPLAIN 은 부작용 없는 select 만 (explain 스레드는 하나라 순서대로 처리된다)
+    @Test
+    public void explainOnlySafeSelects() throws Exception {
+        execute("select * from dual for update");
+        execute("update dual set x = 1");
+        execute("select 1");
+
+        assertThat(slowQueryLog.recent()).extracting(SlowQuery::getSql)
+                .containsExactly("select 1", "update dual set x = 1", "select * from dual for update");
+
+        SlowQuery select = slowQueryLog.recent().get(0);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (select.getPlan() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(select.getPlan()).isNotNull().doesNotStartWith("EXPLAIN failed");
+        assertThat(slowQueryLog.recent().get(1).getPlan()).isNull();
+        assertThat(slowQueryLog.recent().get(2).getPlan()).isNull();
+    }
+
+    private void execute(String sql) {
+        StatementInformation statement = new StatementInformation(null) {
+            @Override
+            public String getSqlWithValues() {
+                return sql;
+            }
+        };
+        slowQueryLog.onAfterAnyExecute(statement, TimeUnit.MILLISECONDS.toNanos(1), null);
+    }
+}
@@ -0,0 +1,151 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.KeysetSlice;
+import study.querydsl.dto.MemberKeysetCursor;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.FetchPlan;
+import study.querydsl.repository.support.QueryShapeCache;
+
+@SpringBootTest
+@Transactional
+class MemberRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    QueryShapeCache queryShapeCache;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member3", 40, teamB)); // username 동률 -> member_id로 정리
+        em.persist(new Member(null, 50, teamB));      // nulls last
+    }
+
+    @Test
+    public void searchMembers() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        condition.setAgeGoe(35);
+        List<Member> first = memberRepository.searchMembers(condition);
+        int cachedShapes = queryShapeCache.size();
+
+        // 같은 모양, 다른 값 -> 캐시된 JPQL 재사용
+        condition.setAgeGoe(25);
+        List<Member> second = memberRepository.searchMembers(condition);
+
+        assertThat(first).extracting("age").containsExactlyInAnyOrder(40, 50);
+        assertThat(second).extracting("age").containsExactlyInAnyOrder(30, 40, 50);
+        assertThat(queryShapeCache.size()).isEqualTo(cachedShapes);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = FetchPlan.class, names = {"FETCH_JOIN", "BATCH", "ENTITY_GRAPH"})
+    public void findMembers(FetchPlan fetchPlan) {
+        em.flush();
+        em.clear();
+
+        List<Member> result = memberRepository.findMembers(new MemberSearchCondition(), fetchPlan);
+
+        assertThat(result).hasSize(5);
+        assertThat(result).allMatch(m -> emf.getPersistenceUnitUtil().isLoaded(m.getTeam()));
+    }
+
+    @Test
+    public void searchPage() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+
+        Page<MemberTeamDto> result = memberRepository.searchPage(condition, PageRequest.of(0, 3));
+
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getTotalPages()).isEqualTo(2);
+        assertThat(result.getContent()).extracting("age").containsExactly(20, 30, 40);
+    }
+
+    @Test
+    public void searchPage_teamName() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamA");
+
+        // 첫 페이지에서 content가 pageSize 보다 작으면 count 쿼리 생략
+        Page<MemberTeamDto> result = memberRepository.searchPage(condition, PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting("username").containsExactly("member1", "member2");
+    }
+
+    @Test
+    public void searchByKeyset() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        List<MemberTeamDto> all = new ArrayList<>();
+
+        KeysetSlice<MemberTeamDto> slice = memberRepository.searchByKeyset(condition, null, 2);
+        all.addAll(slice.getContent());
+        while (slice.hasNext()) {
+            slice = memberRepository.searchByKeyset(condition, slice.getNextCursor(), 2);
+            all.addAll(slice.getContent());
+        }
+
+        assertThat(all).extracting("username")
+                .containsExactly("member3", "member3", "member2", "member1", null);
+        assertThat(all).extracting("age")
+                .containsExactly(40, 30, 20, 10, 50);
+    }
+
+    @Test
+    public void searchByKeyset_condition() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+
+        KeysetSlice<MemberTeamDto> first = memberRepository.searchByKeyset(condition, null, 2);
+        KeysetSlice<MemberTeamDto> second = memberRepository.searchByKeyset(condition, first.getNextCursor(), 2);
+
+        assertThat(first.getContent()).extracting("age").containsExactly(40, 30);
+        assertThat(second.getContent()).extracting("age").containsExactly(50);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    public void cursor() {
+        MemberKeysetCursor cursor = MemberKeysetCursor.decode(new MemberKeysetCursor("member:1", 3L).encode());
+        MemberKeysetCursor nullCursor = MemberKeysetCursor.decode(new MemberKeysetCursor(null, 5L).encode());
+
+        assertThat(cursor.getUsername()).isEqualTo("member:1");
+        assertThat(cursor.getMemberId()).isEqualTo(3L);
+        assertThat(nullCursor.getUsername()).isNull();
+        assertThat(nullCursor.getMemberId()).isEqualTo(5L);
+    }
+}
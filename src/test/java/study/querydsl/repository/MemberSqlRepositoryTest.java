@@ -0,0 +1,119 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.AgeAggregate;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class MemberSqlRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberSqlRepository memberSqlRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.flush(); // JDBC 로 조회하므로 flush 해야 보인다.
+    }
+
+    // JPA search 와 같은 결과
+    @Test
+    public void search() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamName("teamB");
+        condition.setAgeGoe(35);
+
+        assertThat(memberSqlRepository.search(condition))
+                .extracting(MemberDto::getUsername, MemberDto::getAge)
+                .containsExactly(tuple("member4", 40));
+        assertThat(memberRepository.search(condition))
+                .extracting("username", "age")
+                .containsExactly(tuple("member4", 40));
+
+        assertThat(memberSqlRepository.search(new MemberSearchCondition()))
+                .extracting(MemberDto::getUsername)
+                .containsExactly("member1", "member2", "member3", "member4");
+    }
+
+    @Test
+    public void findByUsername() {
+        assertThat(memberSqlRepository.findByUsername("member2"))
+                .extracting(MemberDto::getUsername, MemberDto::getAge)
+                .containsExactly(tuple("member2", 20));
+        assertThat(memberSqlRepository.findByUsername("nobody")).isEmpty();
+    }
+
+    // 트랜잭션 없이 호출해도 자체 readOnly 트랜잭션으로 실행된다. (다른 스레드 -> 테스트 트랜잭션 밖, 커밋 전 데이터는 안 보인다)
+    @Test
+    public void withoutTransaction() {
+        List<MemberDto> result = CompletableFuture
+                .supplyAsync(() -> memberSqlRepository.findByUsername("member1"))
+                .join();
+
+        assertThat(result).isEmpty();
+    }
+
+    // 같은 MemberRow 객체가 row 마다 다시 채워진다.
+    @Test
+    public void forEachRow() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+
+        List<String> usernames = new ArrayList<>();
+        List<Object> rows = new ArrayList<>();
+        long count = memberSqlRepository.forEachRow(condition, row -> {
+            usernames.add(row.getUsername() + ":" + row.getAge() + ":" + row.hasTeam());
+            rows.add(row);
+        });
+
+        assertThat(count).isEqualTo(3);
+        assertThat(usernames).containsExactly("member2:20:true", "member3:30:true", "member4:40:true");
+        assertThat(rows).allMatch(row -> row == rows.get(0));
+    }
+
+    // QuerydslBasicTest.aggregation 과 같은 값
+    @Test
+    public void aggregate() {
+        AgeAggregate aggregate = memberSqlRepository.aggregate(new MemberSearchCondition(), new AgeAggregate());
+
+        assertThat(aggregate.getCount()).isEqualTo(4);
+        assertThat(aggregate.getSum()).isEqualTo(100);
+        assertThat(aggregate.getAverage()).isEqualTo(25);
+        assertThat(aggregate.getMax()).isEqualTo(40);
+        assertThat(aggregate.getMin()).isEqualTo(10);
+
+        MemberSearchCondition none = new MemberSearchCondition();
+        none.setAgeGoe(100);
+        assertThat(memberSqlRepository.aggregate(none, aggregate).getCount()).isZero(); // 재사용
+        assertThat(aggregate.getSum()).isZero();
+    }
+}
@@ -0,0 +1,96 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.FetchPlan;
+
+@SpringBootTest
+@Transactional
+class TeamRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    Long teamId;
+    Long member3Id;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        for (int i = 1; i <= 5; i++) {
+            Member m = new Member("member" + i, i * 10, teamA);
+            em.persist(m);
+            if (i == 3) {
+                member3Id = m.getId();
+            }
+        }
+        em.persist(new Member("member6", 60, teamB));
+        teamId = teamA.getId();
+
+        em.flush();
+        em.clear();
+    }
+
+    // 크기, 포함 여부, 페이지 조회 모두 members 를 초기화하지 않는다.
+    @Test
+    public void membersStayUninitialized() {
+        Team team = em.find(Team.class, teamId);
+
+        assertThat(teamRepository.countMembers(team)).isEqualTo(5);
+        assertThat(teamRepository.containsMember(team, em.find(Member.class, member3Id))).isTrue();
+
+        Slice<Member> slice = teamRepository.findMembers(team, PageRequest.of(1, 2, Sort.by("age").descending()));
+        assertThat(slice.getContent()).extracting("age").containsExactly(30, 20);
+        assertThat(slice.hasNext()).isTrue();
+
+        new Member("member7", 70, team); // changeTeam -> team.addMember
+        assertThat(Hibernate.isInitialized(team.getMembers())).isFalse();
+    }
+
+    // 이미 초기화된 컬렉션이면 쿼리 없이 같은 결과
+    @Test
+    public void initializedMembers() {
+        Team team = em.find(Team.class, teamId);
+        Hibernate.initialize(team.getMembers());
+
+        Slice<Member> slice = teamRepository.findMembers(team, PageRequest.of(1, 2, Sort.by("age").descending()));
+
+        assertThat(teamRepository.countMembers(team)).isEqualTo(5);
+        assertThat(slice.getContent()).extracting("age").containsExactly(30, 20);
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    // BATCH 는 members 를 미리 로딩하지 않는다. 한 팀에 접근하면 다른 팀의 members 도 in 쿼리로 같이 로딩
+    @Test
+    public void findTeams_batch() {
+        List<Team> teams = teamRepository.findTeams(null, FetchPlan.BATCH).stream()
+                .filter(t -> t.getName().equals("teamA") || t.getName().equals("teamB"))
+                .toList();
+
+        assertThat(teams).hasSize(2);
+        assertThat(teams).noneMatch(t -> Hibernate.isInitialized(t.getMembers()));
+
+        assertThat(teams.get(0).getMembers()).hasSize(5);
+        assertThat(Hibernate.isInitialized(teams.get(1).getMembers())).isTrue();
+        assertThat(teams.get(1).getMembers()).extracting("username").containsExactly("member6");
+    }
+}
@@ -0,0 +1,147 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.TeamStatistics;
+
+@SpringBootTest
+@Transactional
+class TeamStatisticsRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    TeamStatisticsRepository teamStatisticsRepository;
+
+    Team teamA;
+    Team teamB;
+    Member member1;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        flushAndClear();
+    }
+
+    @Test
+    public void insert() {
+        TeamStatistics statistics = find(teamA);
+
+        assertThat(statistics.getMemberCount()).isEqualTo(2);
+        assertThat(statistics.getAgeSum()).isEqualTo(30);
+        assertThat(statistics.getAgeMin()).isEqualTo(10);
+        assertThat(statistics.getAgeMax()).isEqualTo(20);
+        assertThat(statistics.getAverageAge()).isEqualTo(15.0);
+    }
+
+    // 최소값이던 회원의 나이가 바뀌면 최소값을 다시 구한다.
+    @Test
+    public void updateRemovesMinimum() {
+        em.find(Member.class, member1.getId()).setAge(50);
+        flushAndClear();
+
+        TeamStatistics statistics = find(teamA);
+        assertThat(statistics.getAgeSum()).isEqualTo(70);
+        assertThat(statistics.getAgeMin()).isEqualTo(20);
+        assertThat(statistics.getAgeMax()).isEqualTo(50);
+    }
+
+    @Test
+    public void changeTeam() {
+        em.find(Member.class, member1.getId()).setTeam(em.find(Team.class, teamB.getId()));
+        flushAndClear();
+
+        assertThat(find(teamA).getMemberCount()).isEqualTo(1);
+        assertThat(find(teamB).getMemberCount()).isEqualTo(3);
+        assertThat(find(teamB).getAgeMin()).isEqualTo(10);
+    }
+
+    @Test
+    public void delete() {
+        em.remove(em.find(Member.class, member1.getId()));
+        flushAndClear();
+
+        TeamStatistics statistics = find(teamA);
+        assertThat(statistics.getMemberCount()).isEqualTo(1);
+        assertThat(statistics.getAgeMin()).isEqualTo(20);
+    }
+
+    // 엔티티 이벤트를 거치지 않는 벌크 연산도 반영된다.
+    @Test
+    public void bulkUpdateAndDelete() {
+        queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .where(member.team.id.eq(teamB.getId()))
+                .execute();
+        queryFactory
+                .delete(member)
+                .where(member.age.lt(15))
+                .execute();
+        em.clear();
+
+        assertThat(find(teamA).getMemberCount()).isEqualTo(1);
+        assertThat(find(teamB).getAgeSum()).isEqualTo(72);
+        assertThat(teamStatisticsRepository.totals().getCount()).isEqualTo(totalMembers());
+    }
+
+    // group / aggregation 과 같은 결과
+    @Test
+    public void matchesGroupBy() {
+        assertThat(teamStatisticsRepository.totals().getCount()).isEqualTo(totalMembers());
+        assertThat(teamStatisticsRepository.teamAverages())
+                .extracting("teamName", "averageAge")
+                .contains(
+                        tuple("teamA", 15.0),
+                        tuple("teamB", 35.0));
+    }
+
+    // flush 하지 않은 회원 변경도 통계 조회 전에 자동 flush 된다. (member query space)
+    @Test
+    public void autoFlushBeforeQuery() {
+        long before = teamStatisticsRepository.totals().getCount();
+        em.persist(new Member("member5", 50, em.find(Team.class, teamA.getId())));
+
+        assertThat(teamStatisticsRepository.totals().getCount()).isEqualTo(before + 1);
+        assertThat(teamStatisticsRepository.teamAverages())
+                .extracting("teamName", "averageAge")
+                .contains(tuple("teamA", 80.0 / 3));
+    }
+
+    private TeamStatistics find(Team team) {
+        return teamStatisticsRepository.findById(team.getId()).orElseThrow();
+    }
+
+    private long totalMembers() {
+        return queryFactory.select(member.count()).from(member).fetchOne();
+    }
+
+    private void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
+}
@@ -0,0 +1,79 @@
+package study.querydsl.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class BulkOperationExecutorTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    BulkOperationExecutor bulkOperationExecutor;
+
+    Member member1;
+    Member member2;
+    Member member3;
+    Member member4;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = new Member("member1", 10, teamA);
+        member2 = new Member("member2", 20, teamA);
+        member3 = new Member("member3", 30, teamB);
+        member4 = new Member("member4", 40, teamB);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.persist(member4);
+    }
+
+    // bulkUpdateWithNoFlush 와 같은 상황 - em.clear() 없이도 결과가 DB와 같다.
+    @Test
+    public void update() {
+        long count = bulkOperationExecutor.update(member, member.age.lt(28),
+                update -> update.set(member.username, "비회원"));
+
+        List<Member> result = queryFactory
+                .selectFrom(member)
+                .orderBy(member.age.asc())
+                .fetch();
+
+        assertThat(count).isEqualTo(2);
+        assertThat(result).extracting("username")
+                .containsExactly("비회원", "비회원", "member3", "member4");
+        assertThat(em.contains(member3)).isTrue(); // 대상이 아닌 엔티티는 그대로 관리
+        assertThat(result.get(0)).isSameAs(member1);
+    }
+
+    @Test
+    public void delete() {
+        long count = bulkOperationExecutor.delete(member, member.age.gt(18));
+
+        assertThat(count).isEqualTo(3);
+        assertThat(em.contains(member1)).isTrue();
+        assertThat(em.contains(member2)).isFalse();
+        assertThat(em.find(Member.class, member4.getId())).isNull();
+    }
+}
@@ -0,0 +1,125 @@
+package study.querydsl.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.BulkJobCheckpoint;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QTeam;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.BulkJobCheckpointRepository;
+
+// 청크마다 커밋하므로 @Transactional 롤백 대신 직접 정리한다.
+@SpringBootTest
+class ChunkedBulkExecutorTest {
+
+    private static final List<String> JOB_NAMES = List.of("age+1", "resume", "delete");
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    ChunkedBulkExecutor chunkedBulkExecutor;
+
+    @Autowired
+    BulkJobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    public void before() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("chunkTeam");
+            em.persist(team);
+            for (int i = 0; i < 10; i++) {
+                em.persist(new Member("chunk" + i, i * 10, team));
+            }
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        tx.executeWithoutResult(status -> {
+            queryFactory.delete(member).where(member.username.startsWith("chunk")).execute();
+            queryFactory.delete(QTeam.team).where(QTeam.team.name.eq("chunkTeam")).execute();
+            checkpointRepository.deleteAllById(JOB_NAMES); // 공유 DB -> 이 테스트가 만든 checkpoint 만
+        });
+    }
+
+    // bulkAdd 를 3건씩 나눠서
+    @Test
+    public void update() {
+        long count = chunkedBulkExecutor.update("age+1", member, member.id, member.username.startsWith("chunk"), 3,
+                update -> update.set(member.age, member.age.add(1)));
+
+        assertThat(count).isEqualTo(10);
+        assertThat(ageSum()).isEqualTo(460);
+        assertThat(checkpointRepository.findById("age+1").orElseThrow().getStatus())
+                .isEqualTo(BulkJobCheckpoint.Status.COMPLETED);
+    }
+
+    // 두 번째 청크에서 실패 -> 같은 이름으로 다시 실행하면 이어서, 첫 청크는 다시 적용되지 않는다.
+    @Test
+    public void resumeAfterFailure() {
+        AtomicInteger chunks = new AtomicInteger();
+        assertThatThrownBy(() -> chunkedBulkExecutor.update("resume", member, member.id,
+                member.username.startsWith("chunk"), 3, update -> {
+                    if (chunks.incrementAndGet() == 2) {
+                        throw new IllegalStateException("boom");
+                    }
+                    update.set(member.age, member.age.add(1));
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        BulkJobCheckpoint failed = checkpointRepository.findById("resume").orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(BulkJobCheckpoint.Status.FAILED);
+        assertThat(failed.getAffectedRows()).isEqualTo(3);
+
+        long resumed = chunkedBulkExecutor.update("resume", member, member.id, member.username.startsWith("chunk"), 3,
+                update -> update.set(member.age, member.age.add(1)));
+
+        assertThat(resumed).isEqualTo(7);
+        assertThat(ageSum()).isEqualTo(460); // 모든 회원이 정확히 한 번씩 +1
+    }
+
+    @Test
+    public void delete() {
+        long count = chunkedBulkExecutor.delete("delete", member, member.id,
+                member.username.startsWith("chunk").and(member.age.gt(50)), 4);
+
+        assertThat(count).isEqualTo(4);
+        Long remaining = tx.execute(status -> queryFactory
+                .select(member.count())
+                .from(member)
+                .where(member.username.startsWith("chunk"))
+                .fetchOne());
+        assertThat(remaining).isEqualTo(6);
+    }
+
+    private Integer ageSum() {
+        return tx.execute(status -> queryFactory
+                .select(member.age.sum())
+                .from(member)
+                .where(member.username.startsWith("chunk"))
+                .fetchOne());
+    }
+}
@@ -0,0 +1,86 @@
+package study.querydsl.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class InMemoryEvaluatorTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    List<Member> cached;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member(null, 50));
+
+        cached = queryFactory.selectFrom(member).fetch();
+    }
+
+    // 같은 조건을 DB 와 메모리에서 실행하면 결과가 같다.
+    @Test
+    public void sameResultAsDatabase() {
+        List<Predicate> predicates = List.of(
+                member.username.eq("member1"),
+                member.age.lt(30).and(member.age.goe(20)),
+                member.age.in(10, 40),
+                member.age.between(20, 40),
+                member.username.eq("member1").or(member.team.name.eq("teamB")),
+                member.username.ne("member1"),                 // null username 은 unknown -> 제외
+                member.username.eq("member1").not(),
+                member.username.isNull(),
+                member.username.startsWith("member").and(member.age.loe(20)));
+
+        OrderSpecifier<?>[] orders = {member.username.asc().nullsLast(), member.id.asc()};
+
+        for (Predicate predicate : predicates) {
+            List<Member> fromDatabase = queryFactory.selectFrom(member).where(predicate).orderBy(orders).fetch();
+            List<Member> fromMemory = InMemoryEvaluator.select(cached, predicate, orders);
+
+            assertThat(fromMemory).as(predicate.toString()).containsExactlyElementsOf(fromDatabase);
+        }
+    }
+
+    @Test
+    public void nullHandling() {
+        List<Member> nullsLast = InMemoryEvaluator.select(cached, member.age.goe(10), member.username.desc().nullsLast());
+        List<Member> nullsFirst = InMemoryEvaluator.select(cached, member.age.goe(10), member.username.desc().nullsFirst());
+
+        assertThat(nullsLast.get(nullsLast.size() - 1).getUsername()).isNull();
+        assertThat(nullsFirst.get(0).getUsername()).isNull();
+    }
+
+    @Test
+    public void unsupported() {
+        assertThatThrownBy(() -> InMemoryEvaluator.matcher(member.age.add(1).gt(10)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,121 @@
+package study.querydsl.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+import com.mysema.commons.lang.CloseableIterator;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.monitoring.QueryMetrics;
+
+@SpringBootTest
+@Transactional
+class InstrumentedJPAQueryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @BeforeEach
+    public void before() {
+        em.persist(new Member("metricMember1", 10));
+        em.persist(new Member("metricMember2", 20));
+        em.persist(new Member("metricMember3", 30));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void fetch() {
+        queryFactory
+                .selectFrom(member)
+                .where(member.username.startsWith("metricMember"))
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "test.fetch")
+                .fetch();
+        queryFactory
+                .selectFrom(member)
+                .where(member.username.eq("metricMember1"))
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "test.fetch")
+                .fetchOne();
+
+        assertThat(timer("test.fetch").count()).isEqualTo(2);
+        assertThat(rows("test.fetch").totalAmount()).isEqualTo(4);
+    }
+
+    // close 할 때 기록
+    @Test
+    public void stream() {
+        try (Stream<Member> stream = queryFactory
+                .selectFrom(member)
+                .where(member.username.startsWith("metricMember"))
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "test.stream")
+                .stream()) {
+            assertThat(stream.toList()).hasSize(3);
+            assertThat(registry.find("querydsl.query").tag("name", "test.stream").timer()).isNull();
+        }
+
+        assertThat(timer("test.stream").count()).isEqualTo(1);
+        assertThat(rows("test.stream").totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    public void iterate() {
+        long read = 0;
+        try (CloseableIterator<Member> iterator = queryFactory
+                .selectFrom(member)
+                .where(member.username.startsWith("metricMember"))
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "test.iterate")
+                .iterate()) {
+            while (iterator.hasNext()) {
+                iterator.next();
+                read++;
+            }
+            iterator.close(); // 두 번 close 해도 한 번만 기록
+        }
+
+        assertThat(read).isEqualTo(3);
+        assertThat(timer("test.iterate").count()).isEqualTo(1);
+        assertThat(timer("test.iterate").getId().getTag("entity")).isEqualTo("QMember");
+        assertThat(rows("test.iterate").totalAmount()).isEqualTo(3);
+    }
+
+    // 복사본 (clone) 도 같은 이름으로 기록된다.
+    @Test
+    public void cloned() {
+        JPAQuery<Member> query = queryFactory
+                .selectFrom(member)
+                .where(member.username.startsWith("metricMember"))
+                .setHint(QueryMetrics.QUERY_NAME_HINT, "test.clone");
+
+        JPAQuery<Member> cloned = query.clone();
+        assertThat(cloned).isInstanceOf(InstrumentedJPAQuery.class);
+        assertThat(cloned.fetch()).hasSize(3);
+
+        assertThat(timer("test.clone").count()).isEqualTo(1);
+        assertThat(rows("test.clone").totalAmount()).isEqualTo(3);
+    }
+
+    private Timer timer(String name) {
+        return registry.get("querydsl.query").tag("name", name).timer();
+    }
+
+    private DistributionSummary rows(String name) {
+        return registry.get("querydsl.query.rows").tag("name", name).summary();
+    }
+}
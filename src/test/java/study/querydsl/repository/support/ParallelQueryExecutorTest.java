@@ -0,0 +1,176 @@
+package study.querydsl.repository.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+// 쿼리가 다른 스레드 / 새 트랜잭션에서 실행되므로 테스트 트랜잭션 없이, 바깥 트랜잭션은 롤백
+@SpringBootTest
+class ParallelQueryExecutorTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    ParallelQueryExecutor executor;
+
+    @AfterEach
+    public void after() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    // 바깥 트랜잭션에 참여하지 않는다. -> 커밋 전 데이터는 안 보이고 readOnly
+    @Test
+    public void requiresNew() {
+        executor = new ParallelQueryExecutor(queryFactory, transactionManager, 2);
+
+        inRolledBackTransaction(() -> {
+            em.persist(new Member("parallelMember", 10));
+            em.flush();
+
+            try (ParallelQueryExecutor.Scope scope = executor.open()) {
+                Supplier<Long> count = scope.fork(query -> countParallelMembers(query));
+                Supplier<Boolean> readOnly = scope.fork(query -> TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                scope.join();
+
+                assertThat(count.get()).isZero();
+                assertThat(readOnly.get()).isTrue();
+            }
+            assertThat(countParallelMembers(queryFactory)).isEqualTo(1); // 바깥 트랜잭션에서는 보인다.
+        });
+    }
+
+    // 스레드가 모두 바쁘면 호출 스레드에서 실행 - 그래도 새 readOnly 트랜잭션
+    @Test
+    public void callerRunsWhenSaturated() {
+        executor = new ParallelQueryExecutor(queryFactory, transactionManager, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        String caller = Thread.currentThread().getName();
+
+        inRolledBackTransaction(() -> {
+            em.persist(new Member("parallelMember", 10));
+            em.flush();
+
+            try (ParallelQueryExecutor.Scope scope = executor.open()) {
+                Supplier<String> busy = scope.fork(query -> {
+                    await(release);
+                    return Thread.currentThread().getName();
+                });
+                Supplier<String> callerRuns = scope.fork(query -> Thread.currentThread().getName());
+                Supplier<Long> count = scope.fork(query -> countParallelMembers(query));
+                release.countDown();
+                scope.join();
+
+                assertThat(busy.get()).startsWith("query-fan-out-");
+                assertThat(callerRuns.get()).isEqualTo(caller);
+                assertThat(count.get()).isZero();
+            }
+        });
+    }
+
+    // 하나가 실패하면 그 예외를 그대로 던지고 나머지는 취소 (인터럽트)
+    @Test
+    public void failureCancelsOthers() throws Exception {
+        executor = new ParallelQueryExecutor(queryFactory, transactionManager, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (ParallelQueryExecutor.Scope scope = executor.open()) {
+            Supplier<String> slow = scope.fork(query -> {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "slow";
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            scope.fork(query -> {
+                throw new IllegalStateException("boom");
+            });
+
+            assertThatThrownBy(() -> slow.get())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("join() first");
+            assertThatThrownBy(() -> scope.join(Duration.ofSeconds(10)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("boom");
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThatThrownBy(() -> slow.get()).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> scope.fork(query -> "late")).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void timeout() {
+        executor = new ParallelQueryExecutor(queryFactory, transactionManager, 2);
+
+        try (ParallelQueryExecutor.Scope scope = executor.open()) {
+            scope.fork(query -> {
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt(); // close() 에서 취소
+                }
+                return null;
+            });
+
+            assertThatThrownBy(() -> scope.join(Duration.ofMillis(100)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("did not complete");
+        }
+    }
+
+    private long countParallelMembers(JPAQueryFactory query) {
+        Long count = query
+                .select(member.count())
+                .from(member)
+                .where(member.username.eq("parallelMember"))
+                .fetchOne();
+        return count != null ? count : 0L;
+    }
+
+    private void inRolledBackTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try {
+                action.run();
+            } finally {
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("not released");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package study.querydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.AgeStatisticsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+import study.querydsl.entity.Team;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshot;DB_CLOSE_DELAY=-1", // 별도 컨텍스트 -> 공유 DB 의 스키마(member_seq)를 다시 만들지 않게
+        "querydsl.snapshot.enabled=true",
+        "querydsl.snapshot.refresh-interval-ms=3600000" // 테스트 중에는 스케줄러가 refresh 하지 않게
+})
+@Transactional
+class MemberColumnarSnapshotTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberColumnarSnapshot snapshot;
+
+    Team teamA;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member(null, 40));
+        em.flush();
+
+        snapshot.reload(); // 테스트 트랜잭션에 참여해서 flush 된 데이터를 읽는다.
+    }
+
+    // 롤백된 행이 싱글톤 스냅샷에 남아서 다른 테스트에 보이지 않도록 커밋된 데이터로 다시 읽는다.
+    @AfterTransaction
+    public void reloadCommitted() {
+        snapshot.reload();
+    }
+
+    // aggregation 과 같은 결과
+    @Test
+    public void ageStatistics() {
+        AgeStatisticsDto statistics = snapshot.ageStatistics();
+
+        assertThat(statistics.getCount()).isEqualTo(4);
+        assertThat(statistics.getSum()).isEqualTo(100L);
+        assertThat(statistics.getAvg()).isEqualTo(25.0);
+        assertThat(statistics.getMin()).isEqualTo(10);
+        assertThat(statistics.getMax()).isEqualTo(40);
+    }
+
+    // subQueyryGoe 와 같은 결과
+    @Test
+    public void ageGoeAverage() {
+        QMember memberSub = new QMember("memberSub");
+        Long[] expected = queryFactory
+                .select(member.id)
+                .from(member)
+                .where(member.age.goe(JPAExpressions.select(memberSub.age.avg()).from(memberSub)))
+                .fetch()
+                .toArray(Long[]::new);
+
+        assertThat(snapshot.idsWithAgeGoeAverage()).containsExactlyInAnyOrder(toPrimitive(expected));
+    }
+
+    @Test
+    public void filters() {
+        assertThat(snapshot.idsWithAgeIn(20, 30, 99)).hasSize(2);
+        assertThat(snapshot.idsWithAgeIn(Integer.MIN_VALUE, 10, Integer.MAX_VALUE)).hasSize(1); // 범위가 넓어도 배열을 만들지 않는다.
+        assertThat(snapshot.idsWithAgeIn(-5, 1_000)).isEmpty();
+        assertThat(snapshot.idsInTeam(teamA.getId())).hasSize(2);
+        assertThat(snapshot.idsWithUsername("member3")).hasSize(1);
+        assertThat(snapshot.idsWithUsername("unknown")).isEmpty();
+    }
+
+    // 워터마크보다 큰 id 는 refresh 에서 추가로 읽는다.
+    @Test
+    public void refreshAppendsNewRows() {
+        Member added = new Member("member5", 50, teamA);
+        em.persist(added);
+        em.flush();
+
+        snapshot.refresh();
+
+        assertThat(snapshot.size()).isEqualTo(5);
+        assertThat(snapshot.username(added.getId())).isEqualTo("member5");
+        assertThat(snapshot.ageStatistics().getMax()).isEqualTo(50);
+    }
+
+    private static long[] toPrimitive(Long[] values) {
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+}
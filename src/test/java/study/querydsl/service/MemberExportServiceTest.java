@@ -0,0 +1,103 @@
+package study.querydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.service.MemberExportService.Format;
+
+@SpringBootTest
+@Transactional
+class MemberExportServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    MemberExportService memberExportService;
+
+    Team teamA;
+    Member member1;
+    Member member2;
+    Member member3;
+    Statistics statistics;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("export,teamA"); // CSV 에서 따옴표로 감싼다.
+        em.persist(teamA);
+        member1 = new Member("exportMember1", 10, teamA);
+        member2 = new Member("export \"member2\"", 20, teamA);
+        member3 = new Member("exportMember3", 30);
+        em.persist(member1);
+        em.persist(member2);
+        em.persist(member3);
+        em.flush();
+        em.clear();
+
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void csv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = memberExportService.export(Format.CSV, out);
+
+        List<String> lines = Arrays.asList(out.toString(StandardCharsets.UTF_8).split("\n"));
+        assertThat(lines.get(0)).isEqualTo("member_id,username,age,team_id,team_name");
+        assertThat(lines).hasSize((int) count + 1);
+        assertThat(lines).containsSubsequence(
+                member1.getId() + ",exportMember1,10," + teamA.getId() + ",\"export,teamA\"",
+                member2.getId() + ",\"export \"\"member2\"\"\",20," + teamA.getId() + ",\"export,teamA\"",
+                member3.getId() + ",exportMember3,30,,");
+
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero(); // CacheMode.IGNORE
+    }
+
+    @Test
+    public void ndjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = memberExportService.export(Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize((int) count);
+
+        List<JsonNode> exported = Arrays.stream(lines)
+                .map(this::readTree)
+                .filter(node -> node.get("username").asText().startsWith("export"))
+                .toList();
+        assertThat(exported).extracting(node -> node.get("username").asText())
+                .containsExactly("exportMember1", "export \"member2\"", "exportMember3");
+        assertThat(exported.get(0).get("teamName").asText()).isEqualTo("export,teamA");
+        assertThat(exported.get(2).get("teamId").isNull()).isTrue();
+        assertThat(exported.get(2).get("teamName").isNull()).isTrue();
+
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(line, e);
+        }
+    }
+}
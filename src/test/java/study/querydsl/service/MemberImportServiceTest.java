@@ -0,0 +1,92 @@
+package study.querydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.ImportResult;
+import study.querydsl.dto.MemberImportRow;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class MemberImportServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberImportService memberImportService;
+
+    // batch_size(100) 를 넘겨서 여러 배치 - 있던 팀은 재사용, 없는 팀은 1번만 등록
+    @Test
+    public void importMembers() {
+        Team teamA = new Team("importTeamA");
+        em.persist(teamA);
+        em.flush();
+        em.clear();
+
+        List<MemberImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            String teamName = switch (i % 3) {
+                case 0 -> "importTeamA";
+                case 1 -> "importTeamB";
+                default -> null;
+            };
+            rows.add(new MemberImportRow("importMember" + i, i, teamName));
+        }
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ImportResult result = memberImportService.importMembers(rows);
+
+        assertThat(result.getRows()).isEqualTo(250);
+        // 팀 프록시를 초기화하지 않는다. (회원마다 / 배치마다 팀 select x)
+        assertThat(statistics.getEntityStatistics(Team.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Team.class.getName()).getInsertCount()).isEqualTo(1);
+
+        assertThat(queryFactory
+                .select(team.name, team.count())
+                .from(team)
+                .where(team.name.startsWith("importTeam"))
+                .groupBy(team.name)
+                .orderBy(team.name.asc())
+                .fetch())
+                .extracting(t -> t.get(team.name), t -> t.get(team.count()))
+                .containsExactly(tuple("importTeamA", 1L), tuple("importTeamB", 1L));
+
+        assertThat(queryFactory
+                .select(member.team.name, member.count())
+                .from(member)
+                .leftJoin(member.team)
+                .where(member.username.startsWith("importMember"))
+                .groupBy(member.team.name)
+                .orderBy(member.team.name.asc().nullsFirst())
+                .fetch())
+                .extracting(t -> t.get(member.team.name), t -> t.get(member.count()))
+                .containsExactly(tuple(null, 83L), tuple("importTeamA", 84L), tuple("importTeamB", 83L));
+
+        assertThat(queryFactory
+                .select(member.age)
+                .from(member)
+                .join(member.team, team)
+                .where(member.username.eq("importMember100"))
+                .fetchOne())
+                .isEqualTo(100);
+    }
+}
@@ -0,0 +1,91 @@
+package study.querydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.ImportResult;
+import study.querydsl.dto.MemberImportRow;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.TeamStatistics;
+import study.querydsl.repository.TeamStatisticsRepository;
+
+@SpringBootTest
+@Transactional
+class MemberUpsertServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberUpsertService memberUpsertService;
+
+    @Autowired
+    TeamStatisticsRepository teamStatisticsRepository;
+
+    @Autowired
+    MemberUsernameCache memberUsernameCache;
+
+    @Test
+    public void upsert() {
+        Team teamA = new Team("upsertTeamA");
+        em.persist(teamA);
+        Member member1 = new Member("member1", 10, teamA);
+        em.persist(member1);
+        em.persist(new Member("member2", 20));
+        em.flush();
+        em.clear();
+        assertThat(memberUsernameCache.findByUsername("member1")).hasSize(1); // 캐시에 올라감
+
+        ImportResult result = memberUpsertService.upsert(List.of(
+                new MemberImportRow("member1", 11, "upsertTeamA"), // 갱신
+                new MemberImportRow("member2", 21, null),    // 팀 없는 회원 갱신
+                new MemberImportRow("member1", 30, "upsertTeamB"), // 다른 팀 -> 등록 (teamB 도 등록)
+                new MemberImportRow("member3", 40, "upsertTeamA")  // 등록
+        ));
+
+        assertThat(result.getRows()).isEqualTo(4);
+        assertThat(queryFactory
+                .select(member.username, member.age, member.team.name)
+                .from(member)
+                .leftJoin(member.team)
+                .orderBy(member.username.asc(), member.age.asc())
+                .fetch())
+                .extracting(t -> t.get(member.username), t -> t.get(member.age), t -> t.get(member.team.name))
+                .containsExactly(
+                        tuple("member1", 11, "upsertTeamA"),
+                        tuple("member1", 30, "upsertTeamB"),
+                        tuple("member2", 21, null),
+                        tuple("member3", 40, "upsertTeamA"));
+
+        // 갱신된 행은 id 가 그대로
+        assertThat(em.find(Member.class, member1.getId()).getAge()).isEqualTo(11);
+
+        // 팀 통계 - 갱신된 팀과 upsert 로 새로 생긴 팀 모두 반영
+        Long teamBId = queryFactory.select(team.id).from(team).where(team.name.eq("upsertTeamB")).fetchOne();
+        TeamStatistics statisticsA = teamStatisticsRepository.findById(teamA.getId()).orElseThrow();
+        assertThat(statisticsA.getMemberCount()).isEqualTo(2);
+        assertThat(statisticsA.getAgeSum()).isEqualTo(51);
+        assertThat(statisticsA.getAgeMax()).isEqualTo(40);
+        TeamStatistics statisticsB = teamStatisticsRepository.findById(teamBId).orElseThrow();
+        assertThat(statisticsB.getMemberCount()).isEqualTo(1);
+        assertThat(statisticsB.getAgeSum()).isEqualTo(30);
+
+        // username 캐시 - upsert 전에 올라간 member1 이 무효화되어 새로 들어간 member1 도 보인다.
+        assertThat(memberUsernameCache.findByUsername("member1"))
+                .extracting(Member::getAge)
+                .containsExactlyInAnyOrder(11, 30);
+    }
+}
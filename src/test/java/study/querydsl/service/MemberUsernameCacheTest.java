@@ -0,0 +1,131 @@
+package study.querydsl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static study.querydsl.entity.QMember.member;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class MemberUsernameCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberUsernameCache memberUsernameCache;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        memberUsernameCache.invalidateAll();
+    }
+
+    // bulkUpdateWithNoFlush 와 같은 상황 - 벌크로 이름을 바꾼 뒤에도 이전 이름으로 찾아지지 않는다.
+    @Test
+    public void bulkRename() {
+        assertThat(memberUsernameCache.findByUsername("member1")).hasSize(1); // 캐시에 올라감
+
+        queryFactory
+                .update(member)
+                .set(member.username, "비회원")
+                .where(member.username.eq("member1"))
+                .execute();
+
+        assertThat(memberUsernameCache.findByUsername("member1")).isEmpty();
+
+        em.clear(); // 영속성 컨텍스트의 엔티티는 아직 이전 이름
+        assertThat(memberUsernameCache.findByUsername("비회원")).extracting("age").containsExactly(10);
+    }
+
+    @Test
+    public void bulkDelete() {
+        assertThat(memberUsernameCache.findByUsername("member2")).hasSize(1);
+
+        queryFactory
+                .delete(member)
+                .where(member.age.gt(15))
+                .execute();
+        em.clear();
+
+        assertThat(memberUsernameCache.findByUsername("member2")).isEmpty();
+    }
+
+    // username 이 아닌 속성만 바꾸는 벌크 update 는 캐시를 비우지 않는다.
+    @Test
+    public void bulkUpdateOtherColumn() {
+        Member cached = memberUsernameCache.findByUsername("member1").get(0);
+
+        queryFactory
+                .update(member)
+                .set(member.age, member.age.add(1))
+                .execute();
+        em.clear();
+
+        assertThat(memberUsernameCache.findByUsername("member1"))
+                .extracting("id", "age")
+                .containsExactly(tuple(cached.getId(), 11));
+    }
+
+    // 엔티티 dirty checking 으로 이름을 바꾸고 커밋 -> 커밋 후 이벤트에서 이전 / 새 이름 모두 무효화
+    // (커밋해야 이벤트가 나가므로 별도 트랜잭션, 끝나면 지운다)
+    @Test
+    public void committedRename() {
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Long id = newTransaction.execute(status -> {
+            Member renamed = new Member("renameBefore", 30);
+            em.persist(renamed);
+            return renamed.getId();
+        });
+
+        try {
+            assertThat(memberUsernameCache.findByUsername("renameBefore")).extracting("id").containsExactly(id);
+            assertThat(memberUsernameCache.findByUsername("renameAfter")).isEmpty(); // 빈 결과도 캐시된다.
+            double misses = misses();
+
+            newTransaction.executeWithoutResult(status -> em.find(Member.class, id).setUsername("renameAfter"));
+            em.clear(); // 이 트랜잭션의 영속성 컨텍스트에는 이전 이름으로 남아 있다.
+
+            assertThat(memberUsernameCache.findByUsername("renameBefore")).isEmpty();
+            assertThat(memberUsernameCache.findByUsername("renameAfter")).extracting("id").containsExactly(id);
+            assertThat(misses()).isEqualTo(misses + 2); // 두 이름 모두 캐시에서 빠져서 다시 조회
+        } finally {
+            newTransaction.executeWithoutResult(status -> em.remove(em.find(Member.class, id)));
+        }
+    }
+
+    private double misses() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "member.username")
+                .tag("result", "miss")
+                .functionCounter()
+                .count();
+    }
+}